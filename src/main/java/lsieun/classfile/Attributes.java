@@ -1,27 +1,105 @@
 package lsieun.classfile;
 
 import lsieun.classfile.attrs.AttributeInfo;
+import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
 import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public class Attributes extends Node {
     public final int attributes_count;
-    public final AttributeInfo[] entries;
+    // lazy模式下，没有解析的位置为null，外部使用get(i)或getEntries()
+    private final AttributeInfo[] entries;
+
+    // lazy: 只记录每个attribute的起始位置，第一次访问时才解析
+    private final ByteDashboard source;
+    private final int[] offsets;
+    private final ConstantPool cp;
 
     public Attributes(ByteDashboard bd, ConstantPool cp) {
+        this(bd, cp, false);
+    }
+
+    public Attributes(ByteDashboard bd, ConstantPool cp, boolean lazy) {
         byte[] attributes_count_bytes = bd.nextN(2);
         this.attributes_count = ByteUtils.bytesToInt(attributes_count_bytes);
 
         this.entries = new AttributeInfo[attributes_count];
-        for (int i = 0; i < attributes_count; i++) {
-            AttributeInfo attr = AttributeInfo.read(bd, cp);
-            this.entries[i] = attr;
+        if (lazy) {
+            this.source = bd;
+            this.offsets = new int[attributes_count + 1];
+            this.cp = cp;
+            for (int i = 0; i < attributes_count; i++) {
+                this.offsets[i] = bd.getIndex();
+                skipAttribute(bd);
+            }
+            this.offsets[attributes_count] = bd.getIndex();
+        }
+        else {
+            this.source = null;
+            this.offsets = null;
+            this.cp = null;
+            for (int i = 0; i < attributes_count; i++) {
+                AttributeInfo attr = AttributeInfo.read(bd, cp);
+                this.entries[i] = attr;
+            }
         }
         super.bytes = attributes_count_bytes;
     }
 
+    public synchronized AttributeInfo get(int i) {
+        AttributeInfo attr = entries[i];
+        if (attr == null) {
+            int offset = offsets[i];
+            ByteDashboard bd = source.view(offset, offsets[i + 1] - offset);
+            attr = AttributeInfo.read(bd, cp);
+            entries[i] = attr;
+        }
+        return attr;
+    }
+
+    /**
+     * 按照名字查找attribute；lazy模式下，只解析找到的attribute
+     *
+     * @return 如果没有找到，返回null
+     */
+    public synchronized AttributeInfo find(String name) {
+        for (int i = 0; i < attributes_count; i++) {
+            AttributeInfo attr = entries[i];
+            if (attr != null) {
+                if (attr.name.equals(name)) return attr;
+            }
+            else {
+                int attribute_name_index = source.getUnsignedShort(offsets[i]);
+                if (cp.getConstantString(attribute_name_index, CPConst.CONSTANT_Utf8).equals(name)) {
+                    return get(i);
+                }
+            }
+        }
+        return null;
+    }
+
+    public AttributeInfo[] getEntries() {
+        for (int i = 0; i < attributes_count; i++) {
+            get(i);
+        }
+        return entries;
+    }
+
     public void accept(Visitor v) {
         v.visitAttributes(this);
     }
+
+    public static void skipAttribute(ByteDashboard bd) {
+        bd.skip(2);
+        int attribute_length = bd.readInt();
+        bd.skip(attribute_length);
+    }
+
+    public static void skipAttributes(ByteDashboard bd) {
+        int attributes_count = bd.readUnsignedShort();
+        for (int i = 0; i < attributes_count; i++) {
+            skipAttribute(bd);
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package lsieun.classfile;
 
+import lsieun.utils.ByteBufferDashboard;
 import lsieun.utils.ByteDashboard;
 import lsieun.vs.Visitor;
 
+import java.nio.ByteBuffer;
+
 public final class ClassFile extends Node {
     public MagicNumber magic_number;
     public CompilerVersion compiler_version;
@@ -13,13 +16,20 @@ public final class ClassFile extends Node {
     public Attributes attributes;
 
     public ClassFile(ByteDashboard bd) {
+        this(bd, false);
+    }
+
+    /**
+     * @param lazy 为true时，fields、methods和attributes只记录各个entry的位置，在第一次访问时才进行解析
+     */
+    public ClassFile(ByteDashboard bd, boolean lazy) {
         this.magic_number = new MagicNumber(bd);
         this.compiler_version = new CompilerVersion(bd);
         this.constant_pool = new ConstantPool(bd);
         this.class_info = new ClassInfo(bd);
-        this.fields = new Fields(bd, constant_pool);
-        this.methods = new Methods(bd, constant_pool);
-        this.attributes = new Attributes(bd, constant_pool);
+        this.fields = new Fields(bd, constant_pool, lazy);
+        this.methods = new Methods(bd, constant_pool, lazy);
+        this.attributes = new Attributes(bd, constant_pool, lazy);
     }
 
     public void accept(Visitor v) {
@@ -30,4 +40,30 @@ public final class ClassFile extends Node {
         ByteDashboard bd = new ByteDashboard(bytes);
         return new ClassFile(bd);
     }
+
+    public static ClassFile parse(byte[] bytes, boolean lazy) {
+        ByteDashboard bd = new ByteDashboard(bytes);
+        return new ClassFile(bd, lazy);
+    }
+
+    /**
+     * @param buffer 可以是heap buffer，也可以是MappedByteBuffer，读取position到limit之间的内容
+     */
+    public static ClassFile parse(ByteBuffer buffer) {
+        ByteDashboard bd = new ByteBufferDashboard(buffer);
+        return new ClassFile(bd);
+    }
+
+    public static ClassFile parse(ByteBuffer buffer, boolean lazy) {
+        ByteDashboard bd = new ByteBufferDashboard(buffer);
+        return new ClassFile(bd, lazy);
+    }
+
+    /**
+     * 只读取到interfaces为止，参见{@link ClassHeader}
+     */
+    public static ClassHeader parseHeader(byte[] bytes) {
+        ByteDashboard bd = new ByteDashboard(bytes);
+        return new ClassHeader(bd);
+    }
 }
@@ -0,0 +1,328 @@
+package lsieun.classfile;
+
+import lsieun.utils.ByteUtils;
+import lsieun.utils.ZipArchive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     以.class文件的内容为key，缓存由ClassFile得到的分析结果（<code>V</code>）；内容没有变化的.class文件不需要再次解析。
+ *     使用{@link #save(Path, Codec)}和{@link #load(Path, Codec)}可以将缓存保存到磁盘上，在多次运行之间（例如CI）重复使用。
+ * </p>
+ * <p>
+ *     key是.class文件内容的SHA-256的前128位，见{@link Key}。
+ *     对于jar文件中的entry，另外记录了(entry name, CRC32, 长度) --&gt; key，这些信息在central directory中已经有了，
+ *     所以命中缓存时连解压都不需要；只有名字、长度、CRC32都相同而内容不同时，才会得到错误的结果（概率约为2^-32）。
+ * </p>
+ * <pre>
+ * ClassFileCache&lt;Integer&gt; cache = new ClassFileCache&lt;&gt;(cf -&gt; cf.methods.methods_count);
+ * cache.load(path, codec);
+ * int count = cache.get(bytes);
+ * cache.save(path, codec);
+ * </pre>
+ */
+public class ClassFileCache<V> {
+    public static final int MAGIC = 0x4C534343;
+    public static final int VERSION = 1;
+
+    private static final ThreadLocal<MessageDigest> DIGESTS = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+
+    private final Function<ClassFile, V> analyzer;
+    private final ConcurrentHashMap<Key, V> map = new ConcurrentHashMap<>();
+    // jar entry --> key
+    private final ConcurrentHashMap<EntryKey, Key> entry_keys = new ConcurrentHashMap<>();
+
+    // statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ClassFileCache(Function<ClassFile, V> analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    public V get(byte[] bytes) {
+        return get(Key.of(bytes), bytes);
+    }
+
+    /**
+     * 如果这个entry之前出现过，并且CRC32和长度都没有变化，那么不需要解压
+     */
+    public V get(ZipArchive archive, int i) throws IOException {
+        EntryKey entry_key = new EntryKey(archive.getName(i), archive.getCrc(i), archive.getSize(i));
+        Key key = entry_keys.get(entry_key);
+        if (key != null) {
+            V value = lookup(key);
+            if (value != null) return value;
+        }
+
+        byte[] bytes = archive.getBytes(i);
+        key = Key.of(bytes);
+        entry_keys.put(entry_key, key);
+        return get(key, bytes);
+    }
+
+    private V get(Key key, byte[] bytes) {
+        V value = lookup(key);
+        if (value == null) {
+            value = store(key, bytes);
+        }
+        return value;
+    }
+
+    private V lookup(Key key) {
+        V value = map.get(key);
+        if (value != null) {
+            hits.increment();
+        }
+        return value;
+    }
+
+    private V store(Key key, byte[] bytes) {
+        misses.increment();
+        V value = analyzer.apply(ClassFile.parse(bytes));
+        if (value == null) {
+            throw new NullPointerException("analyzer returned null");
+        }
+        // 多个线程同时解析同一个.class文件时，使用第一个结果
+        V existing = map.putIfAbsent(key, value);
+        return existing != null ? existing : value;
+    }
+
+    // region persistence
+    /**
+     * 分析结果<code>V</code>的读写方式
+     */
+    public interface Codec<V> {
+        void write(DataOutputStream out, V value) throws IOException;
+
+        V read(DataInputStream in) throws IOException;
+
+        /**
+         * analyzer或者V的格式改变时，应该修改version，之前保存的缓存就不会再被使用
+         */
+        default int version() {
+            return 0;
+        }
+    }
+
+    /**
+     * <pre>
+     * 文件格式：
+     * u4 magic;            // LSCC
+     * u4 version;
+     * u4 codec_version;
+     * u4 value_count;
+     * { u8 key_high; u8 key_low; V value; } values[value_count];
+     * u4 entry_count;
+     * { u4 name_length; u1 name[name_length]; u4 crc; u4 size; u8 key_high; u8 key_low; } entries[entry_count];
+     * </pre>
+     * 先写入临时文件，然后替换原来的文件。
+     */
+    public void save(Path file, Codec<V> codec) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp);
+             DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out))) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeInt(codec.version());
+
+            Map<Key, V> values = new HashMap<>(map);
+            dos.writeInt(values.size());
+            for (Map.Entry<Key, V> item : values.entrySet()) {
+                item.getKey().write(dos);
+                codec.write(dos, item.getValue());
+            }
+
+            Map<EntryKey, Key> entries = new HashMap<>(entry_keys);
+            dos.writeInt(entries.size());
+            for (Map.Entry<EntryKey, Key> item : entries.entrySet()) {
+                EntryKey entry_key = item.getKey();
+                byte[] name_bytes = entry_key.name.getBytes(StandardCharsets.UTF_8);
+                dos.writeInt(name_bytes.length);
+                dos.write(name_bytes);
+                dos.writeInt((int) entry_key.crc);
+                dos.writeInt(entry_key.size);
+                item.getValue().write(dos);
+            }
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 读取{@link #save(Path, Codec)}保存的缓存，加入到当前的缓存中
+     *
+     * @return 读取的分析结果的数量；如果文件不存在，或者magic、version、codec version不一致，返回0
+     */
+    public int load(Path file, Codec<V> codec) throws IOException {
+        if (!Files.isRegularFile(file)) return 0;
+
+        Map<Key, V> values = new HashMap<>();
+        Map<EntryKey, Key> entries = new HashMap<>();
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream dis = new DataInputStream(new BufferedInputStream(in))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != VERSION || dis.readInt() != codec.version()) {
+                return 0;
+            }
+
+            int value_count = dis.readInt();
+            for (int i = 0; i < value_count; i++) {
+                Key key = Key.read(dis);
+                values.put(key, codec.read(dis));
+            }
+
+            int entry_count = dis.readInt();
+            for (int i = 0; i < entry_count; i++) {
+                byte[] name_bytes = new byte[dis.readInt()];
+                dis.readFully(name_bytes);
+                String name = new String(name_bytes, StandardCharsets.UTF_8);
+                long crc = dis.readInt() & 0xFFFFFFFFL;
+                int size = dis.readInt();
+                entries.put(new EntryKey(name, crc, size), Key.read(dis));
+            }
+        }
+
+        // 全部读取成功之后才加入，文件损坏时不会只加入一部分
+        map.putAll(values);
+        entry_keys.putAll(entries);
+        return values.size();
+    }
+    // endregion
+
+    // region statistics
+    public int size() {
+        return map.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        map.clear();
+        entry_keys.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ClassFileCache{size=%d, hits=%d, misses=%d}", size(), getHitCount(), getMissCount());
+    }
+    // endregion
+
+    /**
+     * .class文件内容的SHA-256的前128位
+     */
+    public static final class Key {
+        public final long high;
+        public final long low;
+
+        public Key(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        public static Key of(byte[] bytes) {
+            byte[] digest = DIGESTS.get().digest(bytes);
+            return new Key(ByteUtils.readLong(digest, 0), ByteUtils.readLong(digest, 8));
+        }
+
+        static Key read(DataInputStream in) throws IOException {
+            long high = in.readLong();
+            long low = in.readLong();
+            return new Key(high, low);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(high);
+            out.writeLong(low);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (high ^ (high >>> 32));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%016x%016x", high, low);
+        }
+    }
+
+    /**
+     * jar文件中的entry：central directory中记录的名字、CRC32和长度
+     */
+    private static final class EntryKey {
+        final String name;
+        final long crc;
+        final int size;
+
+        EntryKey(String name, long crc, int size) {
+            this.name = name;
+            this.crc = crc;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof EntryKey)) return false;
+            EntryKey other = (EntryKey) obj;
+            return crc == other.crc && size == other.size && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * name.hashCode() + (int) crc) + size;
+        }
+    }
+}
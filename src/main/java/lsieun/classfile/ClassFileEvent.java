@@ -0,0 +1,24 @@
+package lsieun.classfile;
+
+/**
+ * {@link ClassFileReader}每次调用<code>next()</code>返回的事件，顺序与ClassFile的结构相同。
+ */
+public enum ClassFileEvent {
+    VERSION,
+    START_CONSTANT_POOL,
+    CONSTANT,
+    END_CONSTANT_POOL,
+    CLASS_INFO,
+    START_FIELDS,
+    FIELD,
+    END_FIELDS,
+    START_METHODS,
+    METHOD,
+    END_METHODS,
+    START_ATTRIBUTES,
+    /** field、method或者ClassFile的attribute，在FIELD/METHOD之后出现的属于该field/method */
+    ATTRIBUTE,
+    /** 名字为Code的attribute */
+    CODE,
+    END_CLASS_FILE
+}
@@ -0,0 +1,294 @@
+package lsieun.classfile;
+
+import lsieun.classfile.attrs.AttributeInfo;
+import lsieun.classfile.attrs.Code;
+import lsieun.classfile.cp.Constant;
+import lsieun.cst.CPConst;
+import lsieun.cst.JVMConst;
+import lsieun.utils.ByteDashboard;
+import lsieun.utils.ByteWindow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * <p>
+ *     pull-style的ClassFile解析器：从<code>InputStream</code>或<code>ReadableByteChannel</code>中读取数据，
+ *     每调用一次{@link #next()}，就向前读取一个{@link ClassFileEvent}。
+ * </p>
+ * <p>
+ *     不需要将整个.class文件读入<code>byte[]</code>：只保留constant pool和一个{@link ByteWindow}。
+ *     对于ATTRIBUTE和CODE事件，如果没有调用{@link #getAttribute()}，那么它的内容会被直接跳过。
+ * </p>
+ * <pre>
+ * ClassFileReader reader = new ClassFileReader(in);
+ * while (reader.hasNext()) {
+ *     ClassFileEvent event = reader.next();
+ *     if (event == ClassFileEvent.METHOD) {
+ *         System.out.println(reader.getName() + ":" + reader.getDescriptor());
+ *     }
+ * }
+ * </pre>
+ */
+public class ClassFileReader implements Closeable {
+    private static final int STAGE_HEADER = 0;
+    private static final int STAGE_CONSTANT_POOL_COUNT = 1;
+    private static final int STAGE_CONSTANT_POOL = 2;
+    private static final int STAGE_CLASS_INFO = 3;
+    private static final int STAGE_FIELDS_COUNT = 4;
+    private static final int STAGE_FIELDS = 5;
+    private static final int STAGE_METHODS_COUNT = 6;
+    private static final int STAGE_METHODS = 7;
+    private static final int STAGE_ATTRIBUTES_COUNT = 8;
+    private static final int STAGE_ATTRIBUTES = 9;
+    private static final int STAGE_END = 10;
+
+    private final ReadableByteChannel channel;
+    private final ByteWindow window;
+
+    // state
+    private int stage;
+    private ClassFileEvent event;
+    private int items_count;
+    private int items_read;
+    private int member_attributes_remaining;
+
+    // constant pool
+    private int cp_count;
+    private int cp_index;
+    private Constant[] cp_entries;
+    private ConstantPool constant_pool;
+
+    // current item
+    private int minor_version;
+    private int major_version;
+    private Constant constant;
+    private ClassInfo class_info;
+    private int access_flags;
+    private int name_index;
+    private int descriptor_index;
+    private int attribute_name_index;
+    private int attribute_length;
+    private boolean attribute_pending;
+    private AttributeInfo attribute;
+
+    public ClassFileReader(InputStream in) {
+        this(Channels.newChannel(in));
+    }
+
+    public ClassFileReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.window = new ByteWindow(channel, ByteWindow.DEFAULT_CAPACITY);
+        this.stage = STAGE_HEADER;
+    }
+
+    public boolean hasNext() {
+        return stage != STAGE_END;
+    }
+
+    public ClassFileEvent next() throws IOException {
+        if (stage == STAGE_END) {
+            throw new IllegalStateException("No more events: " + ClassFileEvent.END_CLASS_FILE);
+        }
+
+        // 上一个attribute没有被读取，直接跳过
+        if (attribute_pending) {
+            window.skip(6L + (attribute_length & 0xFFFFFFFFL));
+            attribute_pending = false;
+        }
+        attribute = null;
+
+        switch (stage) {
+            case STAGE_HEADER: {
+                int magic = window.readInt();
+                if (magic != JVMConst.JVM_CLASSFILE_MAGIC) {
+                    throw new RuntimeException("It is not a Java .class file");
+                }
+                minor_version = window.readUnsignedShort();
+                major_version = window.readUnsignedShort();
+                stage = STAGE_CONSTANT_POOL_COUNT;
+                return event = ClassFileEvent.VERSION;
+            }
+            case STAGE_CONSTANT_POOL_COUNT: {
+                cp_count = window.readUnsignedShort();
+                cp_entries = new Constant[cp_count];
+                cp_index = 1;
+                stage = STAGE_CONSTANT_POOL;
+                return event = ClassFileEvent.START_CONSTANT_POOL;
+            }
+            case STAGE_CONSTANT_POOL: {
+                if (cp_index < cp_count) {
+                    constant = readConstant();
+                    constant.index = cp_index;
+                    cp_entries[cp_index] = constant;
+                    byte tag = constant.tag;
+                    cp_index += ((tag == CPConst.CONSTANT_Double) || (tag == CPConst.CONSTANT_Long)) ? 2 : 1;
+                    return event = ClassFileEvent.CONSTANT;
+                }
+                constant = null;
+                constant_pool = new ConstantPool(cp_count, cp_entries);
+                stage = STAGE_CLASS_INFO;
+                return event = ClassFileEvent.END_CONSTANT_POOL;
+            }
+            case STAGE_CLASS_INFO: {
+                int interfaces_count = window.peekUnsignedShort(6);
+                class_info = new ClassInfo(window.view(8 + 2 * interfaces_count));
+                stage = STAGE_FIELDS_COUNT;
+                return event = ClassFileEvent.CLASS_INFO;
+            }
+            case STAGE_FIELDS_COUNT:
+            case STAGE_METHODS_COUNT:
+            case STAGE_ATTRIBUTES_COUNT: {
+                items_count = window.readUnsignedShort();
+                items_read = 0;
+                member_attributes_remaining = 0;
+                stage++;
+                return event = stage == STAGE_FIELDS ? ClassFileEvent.START_FIELDS :
+                        stage == STAGE_METHODS ? ClassFileEvent.START_METHODS : ClassFileEvent.START_ATTRIBUTES;
+            }
+            case STAGE_FIELDS:
+            case STAGE_METHODS: {
+                if (member_attributes_remaining > 0) {
+                    member_attributes_remaining--;
+                    return event = readAttributeHeader();
+                }
+                if (items_read < items_count) {
+                    items_read++;
+                    access_flags = window.readUnsignedShort();
+                    name_index = window.readUnsignedShort();
+                    descriptor_index = window.readUnsignedShort();
+                    member_attributes_remaining = window.readUnsignedShort();
+                    return event = stage == STAGE_FIELDS ? ClassFileEvent.FIELD : ClassFileEvent.METHOD;
+                }
+                stage++;
+                return event = stage == STAGE_METHODS_COUNT ? ClassFileEvent.END_FIELDS : ClassFileEvent.END_METHODS;
+            }
+            case STAGE_ATTRIBUTES: {
+                if (items_read < items_count) {
+                    items_read++;
+                    return event = readAttributeHeader();
+                }
+                stage = STAGE_END;
+                return event = ClassFileEvent.END_CLASS_FILE;
+            }
+            default:
+                throw new IllegalStateException("Unknown stage: " + stage);
+        }
+    }
+
+    private Constant readConstant() throws IOException {
+        byte tag = (byte) window.peekUnsignedByte(0);
+        int length;
+        if (tag == CPConst.CONSTANT_Utf8) {
+            length = 3 + window.peekUnsignedShort(1);
+        }
+        else {
+            length = Constant.getFixedLength(tag);
+        }
+        ByteDashboard bd = window.view(length);
+        return Constant.readConstant(bd);
+    }
+
+    private ClassFileEvent readAttributeHeader() throws IOException {
+        attribute_name_index = window.peekUnsignedShort(0);
+        attribute_length = window.peekInt(2);
+        attribute_pending = true;
+
+        String name = constant_pool.getConstantString(attribute_name_index, CPConst.CONSTANT_Utf8);
+        return "Code".equals(name) ? ClassFileEvent.CODE : ClassFileEvent.ATTRIBUTE;
+    }
+
+    // region getter
+    public ClassFileEvent getEvent() {
+        return event;
+    }
+
+    public int getMinorVersion() {
+        return minor_version;
+    }
+
+    public int getMajorVersion() {
+        return major_version;
+    }
+
+    /**
+     * 只有在END_CONSTANT_POOL之后才可以使用
+     */
+    public ConstantPool getConstantPool() {
+        return constant_pool;
+    }
+
+    /**
+     * CONSTANT事件
+     */
+    public Constant getConstant() {
+        return constant;
+    }
+
+    /**
+     * CLASS_INFO事件
+     */
+    public ClassInfo getClassInfo() {
+        return class_info;
+    }
+
+    /**
+     * FIELD/METHOD事件
+     */
+    public int getAccessFlags() {
+        return access_flags;
+    }
+
+    public String getName() {
+        return constant_pool.getConstantString(name_index, CPConst.CONSTANT_Utf8);
+    }
+
+    public String getDescriptor() {
+        return constant_pool.getConstantString(descriptor_index, CPConst.CONSTANT_Utf8);
+    }
+
+    /**
+     * ATTRIBUTE/CODE事件
+     */
+    public String getAttributeName() {
+        return constant_pool.getConstantString(attribute_name_index, CPConst.CONSTANT_Utf8);
+    }
+
+    public int getAttributeLength() {
+        return attribute_length;
+    }
+
+    /**
+     * ATTRIBUTE/CODE事件，第一次调用时才读取attribute的内容
+     */
+    public AttributeInfo getAttribute() throws IOException {
+        if (event != ClassFileEvent.ATTRIBUTE && event != ClassFileEvent.CODE) {
+            throw new IllegalStateException("Not an attribute: " + event);
+        }
+        if (attribute == null) {
+            ByteDashboard bd = window.view(6 + attribute_length);
+            attribute_pending = false;
+            attribute = AttributeInfo.read(bd, constant_pool);
+        }
+        return attribute;
+    }
+
+    /**
+     * CODE事件
+     */
+    public Code getCode() throws IOException {
+        if (event != ClassFileEvent.CODE) {
+            throw new IllegalStateException("Not a Code attribute: " + event);
+        }
+        return (Code) getAttribute();
+    }
+    // endregion
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
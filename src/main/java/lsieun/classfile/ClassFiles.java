@@ -0,0 +1,222 @@
+package lsieun.classfile;
+
+import lsieun.utils.JarUtils;
+import lsieun.utils.ZipArchive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
+
+/**
+ * <p>
+ *     将目录和jar文件中的.class文件作为<code>Stream&lt;ClassFile&gt;</code>，例如：
+ * </p>
+ * <pre>
+ * try (Stream&lt;ClassFile&gt; stream = ClassFiles.stream(path)) {
+ *     stream.parallel().filter(...).map(...);
+ * }
+ * </pre>
+ * <p>
+ *     打开Stream时只读取目录和jar文件的central directory（见{@link ZipArchive}），得到所有.class文件的列表和大小；
+ *     .class文件在被Stream访问到时才读取、解析。关闭Stream时关闭所有的ZipArchive。
+ *     拆分（trySplit）时按照文件大小平分，而不是按照数量平分，所以大小不同的jar文件也能均衡地分配到多个线程。
+ * </p>
+ * <p>
+ *     某个.class文件读取或者解析失败时，只打印错误并跳过这个文件，与JarUtils相同。
+ * </p>
+ */
+public final class ClassFiles {
+    private ClassFiles() {
+    }
+
+    public static Stream<ClassFile> stream(Path... roots) {
+        return stream(Arrays.asList(roots), false);
+    }
+
+    public static Stream<ClassFile> stream(List<Path> roots, boolean lazy) {
+        List<Item> items = new ArrayList<>();
+        final List<ZipArchive> archives = new ArrayList<>();
+        try {
+            for (Path root : roots) {
+                if (Files.isDirectory(root)) {
+                    collectDirectory(root, items);
+                }
+                else {
+                    ZipArchive archive = ZipArchive.open(root.toString());
+                    archives.add(archive);
+                    for (int i : JarUtils.listClassEntries(archive)) {
+                        items.add(new Item(archive, i, null, archive.getCompressedSize(i)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            closeAll(archives);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeAll(archives);
+            throw e;
+        }
+
+        Item[] array = items.toArray(new Item[0]);
+        long[] weights = new long[array.length + 1];
+        for (int i = 0; i < array.length; i++) {
+            // 每个文件至少算1，避免大小未知（-1）或者为0的情况
+            weights[i + 1] = weights[i] + Math.max(1, array[i].size);
+        }
+
+        Spliterator<ClassFile> spliterator = new ClassFileSpliterator(array, weights, 0, array.length, lazy);
+        return StreamSupport.stream(spliterator, false).onClose(() -> closeAll(archives));
+    }
+
+    private static void closeAll(List<ZipArchive> archives) {
+        for (ZipArchive archive : archives) {
+            archive.close();
+        }
+    }
+
+    private static void collectDirectory(Path root, final List<Item> items) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String name = file.getFileName().toString();
+                if (attrs.isRegularFile() && name.endsWith(".class")) {
+                    items.add(new Item(null, -1, file, attrs.size()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * 一个.class文件：或者是jar文件中的entry，或者是目录中的文件
+     */
+    private static final class Item {
+        final ZipArchive archive;
+        final int entry;
+        final Path file;
+        final long size;
+
+        Item(ZipArchive archive, int entry, Path file, long size) {
+            this.archive = archive;
+            this.entry = entry;
+            this.file = file;
+            this.size = size;
+        }
+
+        String getName() {
+            return file != null ? file.toString() : archive.getName(entry);
+        }
+
+        ClassFile parse(boolean lazy) throws IOException {
+            if (file != null) {
+                return ClassFile.parse(Files.readAllBytes(file), lazy);
+            }
+            if (archive.getMethod(entry) == ZipEntry.STORED) {
+                return ClassFile.parse(archive.getRawData(entry), lazy);
+            }
+            return ClassFile.parse(archive.getBytes(entry), lazy);
+        }
+    }
+
+    private static final class ClassFileSpliterator implements Spliterator<ClassFile> {
+        // 拆分之后，每一部分最少的文件数量
+        private static final int MIN_SPLIT_SIZE = 4;
+
+        private final Item[] items;
+        // weights[i]是items[0, i)的大小之和
+        private final long[] weights;
+        private final boolean lazy;
+        private int index;
+        private final int fence;
+
+        ClassFileSpliterator(Item[] items, long[] weights, int origin, int fence, boolean lazy) {
+            this.items = items;
+            this.weights = weights;
+            this.index = origin;
+            this.fence = fence;
+            this.lazy = lazy;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ClassFile> action) {
+            while (index < fence) {
+                ClassFile classFile = parse(items[index++]);
+                if (classFile != null) {
+                    action.accept(classFile);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super ClassFile> action) {
+            for (; index < fence; index++) {
+                ClassFile classFile = parse(items[index]);
+                if (classFile != null) {
+                    action.accept(classFile);
+                }
+            }
+        }
+
+        /**
+         * @return 如果读取或者解析失败，返回null，见{@link JarUtils#printError(String, Exception)}
+         */
+        private ClassFile parse(Item item) {
+            try {
+                return item.parse(lazy);
+            } catch (IOException | RuntimeException e) {
+                JarUtils.printError(item.getName(), e);
+            }
+            return null;
+        }
+
+        /**
+         * 找到使[index, mid)和[mid, fence)的大小最接近的mid
+         */
+        @Override
+        public Spliterator<ClassFile> trySplit() {
+            if (fence - index < 2 * MIN_SPLIT_SIZE) return null;
+
+            long target = (weights[index] + weights[fence]) >>> 1;
+            int lo = index + MIN_SPLIT_SIZE;
+            int hi = fence - MIN_SPLIT_SIZE;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (weights[mid] < target) {
+                    lo = mid + 1;
+                }
+                else {
+                    hi = mid;
+                }
+            }
+
+            Spliterator<ClassFile> prefix = new ClassFileSpliterator(items, weights, index, lo, lazy);
+            index = lo;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            // 解析失败的.class文件会被跳过，estimateSize()只是上限，不是SIZED
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package lsieun.classfile;
+
+import lsieun.classfile.cp.Constant;
+import lsieun.cst.AccessConst;
+import lsieun.cst.CPConst;
+import lsieun.cst.JVMConst;
+import lsieun.utils.ByteDashboard;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     只读取ClassFile的“头部”信息：compiler version、access_flags、this_class、super_class和interfaces。
+ * </p>
+ * <p>
+ *     constant pool只记录每个entry的起始位置，并不创建Constant对象；
+ *     只有this_class、super_class和interfaces引用到的CONSTANT_Utf8才会被解码成String。
+ *     读完interfaces之后就停止，不会再读取fields、methods和attributes。
+ * </p>
+ */
+public final class ClassHeader {
+    public final int minor_version;
+    public final int major_version;
+    public final int access_flags;
+    public final String this_class;
+    public final String super_class;
+    public final String[] interfaces;
+
+    public ClassHeader(ByteDashboard bd) {
+        int magic = bd.readInt();
+        if (magic != JVMConst.JVM_CLASSFILE_MAGIC) {
+            throw new RuntimeException("It is not a Java .class file");
+        }
+        this.minor_version = bd.readUnsignedShort();
+        this.major_version = bd.readUnsignedShort();
+
+        // constant pool: 只记录位置
+        int cp_count = bd.readUnsignedShort();
+        int[] offsets = new int[cp_count];
+        for (int i = 1; i < cp_count; i++) {
+            offsets[i] = bd.getIndex();
+            byte tag = Constant.skipConstant(bd);
+            if ((tag == CPConst.CONSTANT_Double) || (tag == CPConst.CONSTANT_Long)) {
+                i++;
+            }
+        }
+
+        this.access_flags = bd.readUnsignedShort();
+        int this_class_index = bd.readUnsignedShort();
+        int super_class_index = bd.readUnsignedShort();
+        int interfaces_count = bd.readUnsignedShort();
+        int[] interface_indexes = new int[interfaces_count];
+        for (int i = 0; i < interfaces_count; i++) {
+            interface_indexes[i] = bd.readUnsignedShort();
+        }
+        // 到这里就停止读取
+
+        this.this_class = getClassName(bd, offsets, this_class_index);
+        this.super_class = getClassName(bd, offsets, super_class_index);
+        this.interfaces = new String[interfaces_count];
+        for (int i = 0; i < interfaces_count; i++) {
+            this.interfaces[i] = getClassName(bd, offsets, interface_indexes[i]);
+        }
+    }
+
+    public boolean isInterface() {
+        return (access_flags & AccessConst.ACC_INTERFACE) != 0;
+    }
+
+    public String getAccessFlagsString() {
+        return AccessConst.getClassAccessFlagsString(access_flags);
+    }
+
+    private static String getClassName(ByteDashboard bd, int[] offsets, int class_index) {
+        // super_class为0：这个类本身是java/lang/Object（或者module-info），没有父类
+        if (class_index == 0) return null;
+
+        bd.setIndex(offsets[class_index]);
+        if (bd.readByte() != CPConst.CONSTANT_Class) {
+            throw new RuntimeException("Expected CONSTANT_Class at index " + class_index);
+        }
+
+        int name_index = bd.readUnsignedShort();
+        bd.setIndex(offsets[name_index]);
+        if (bd.readByte() != CPConst.CONSTANT_Utf8) {
+            throw new RuntimeException("Expected CONSTANT_Utf8 at index " + name_index);
+        }
+
+        int length = bd.readUnsignedShort();
+        return bd.readModifiedUtf8(length);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassHeader {" +
+                "this_class='" + this_class + '\'' +
+                ", super_class='" + super_class + '\'' +
+                ", interfaces=" + Arrays.toString(interfaces) +
+                ", access_flags=" + getAccessFlagsString() +
+                '}';
+    }
+}
@@ -1,7 +1,6 @@
 package lsieun.classfile;
 
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public class ClassInfo extends Node {
@@ -12,25 +11,18 @@ public class ClassInfo extends Node {
     public final int[] interfaces;
 
     public ClassInfo(ByteDashboard bd) {
-        byte[] access_flags_bytes = bd.nextN(2);
-        byte[] this_class_bytes = bd.nextN(2);
-        byte[] super_class_bytes = bd.nextN(2);
-        byte[] interfaces_count_bytes = bd.nextN(2);
+        int interfaces_count = bd.peekUnsignedShort(6);
+        super.setSource(bd, bd.getIndex(), 8 + 2 * interfaces_count);
 
-        this.access_flags = ByteUtils.bytesToInt(access_flags_bytes);
-        this.this_class = ByteUtils.bytesToInt(this_class_bytes);
-        this.super_class = ByteUtils.bytesToInt(super_class_bytes);
-        this.interfaces_count = ByteUtils.bytesToInt(interfaces_count_bytes);
+        this.access_flags = bd.readUnsignedShort();
+        this.this_class = bd.readUnsignedShort();
+        this.super_class = bd.readUnsignedShort();
+        this.interfaces_count = bd.readUnsignedShort();
         this.interfaces = new int[interfaces_count];
 
-        byte[] bytes = ByteUtils.concatenate(access_flags_bytes, this_class_bytes, super_class_bytes);
-        bytes = ByteUtils.concatenate(bytes, interfaces_count_bytes);
         for (int i = 0; i < interfaces_count; i++) {
-            byte[] interface_bytes = bd.nextN(2);
-            interfaces[i] = ByteUtils.bytesToInt(interface_bytes);
-            bytes = ByteUtils.concatenate(bytes, interface_bytes);
+            interfaces[i] = bd.readUnsignedShort();
         }
-        super.bytes = bytes;
     }
 
     public void accept(Visitor v) {
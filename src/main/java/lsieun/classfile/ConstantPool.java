@@ -1,27 +1,52 @@
 package lsieun.classfile;
 
+import lsieun.classfile.attrs.AttributeDecoder;
+import lsieun.classfile.attrs.AttributeRegistry;
 import lsieun.classfile.cp.*;
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
 import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
 public final class ConstantPool extends Node {
+    // entry数量达到这个值时，分成多段，使用多个线程创建Constant对象
+    public static final int PARALLEL_THRESHOLD = 8192;
+    private static final int CHUNK_SIZE = 2048;
+
     public final int count;
     public final Constant[] entries;
 
+    // index --> tag、entry在source中的起始位置，不需要创建Constant对象；Long和Double的第二个位置的tag为0
+    private final ByteDashboard source;
+    private final byte[] tags;
+    private final int[] offsets;
+
+    // auxiliary info: constant pool index --> AttributeDecoder
+    // 在构造方法中创建，多个线程共享同一个数组；AtomicReferenceArray保证其他线程能看到写入的元素
+    private final AtomicReferenceArray<AttributeDecoder> attribute_decoders;
+    // auxiliary info: constant pool index --> symbolic value, see resolve(int)
+    private final AtomicReferenceArray<String> resolved_values;
+
     public ConstantPool(ByteDashboard bd) {
         byte[] count_bytes = bd.nextN(2);
         super.bytes = count_bytes;
 
         this.count = ByteUtils.bytesToInt(count_bytes);
         this.entries = new Constant[count];
+        this.attribute_decoders = new AtomicReferenceArray<>(count);
+        this.resolved_values = new AtomicReferenceArray<>(count);
 
+        // 第一步，只记录每个entry的tag和起始位置
+        this.source = bd;
+        this.tags = new byte[count];
+        this.offsets = new int[count + 1];
         for (int i = 1; i < count; i++) {
-            Constant item = Constant.readConstant(bd);
-            item.index = i;
-
-            this.entries[i] = item;
+            offsets[i] = bd.getIndex();
+            byte tag = Constant.skipConstant(bd);
+            tags[i] = tag;
             /* Quote from the JVM specification:
              * "All eight byte constants take up two spots in the constant pool.
              * If this is the n'th byte in the constant pool, then the next item
@@ -29,12 +54,84 @@ public final class ConstantPool extends Node {
              *
              * Thus we have to increment the index counter.
              */
-            byte tag = item.tag;
             if ((tag == CPConst.CONSTANT_Double) || (tag == CPConst.CONSTANT_Long)) {
                 i++;
+                offsets[i] = bd.getIndex();
             }
         }
+        offsets[count] = bd.getIndex();
+
+        // 第二步，创建Constant对象
+        if (count >= PARALLEL_THRESHOLD) {
+            int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = Math.max(1, chunk * CHUNK_SIZE);
+                int to = Math.min(count, (chunk + 1) * CHUNK_SIZE);
+                readConstants(from, to);
+            });
+        }
+        else {
+            readConstants(1, count);
+        }
+    }
+
+    /**
+     * 解析[from, to)之间的entry；如果from是Long或Double的第二个位置，那么跳过
+     */
+    private void readConstants(int from, int to) {
+        ByteDashboard bd = source.view(offsets[from], offsets[to] - offsets[from]);
+        for (int i = from; i < to; i++) {
+            if (tags[i] == 0) continue;
+            Constant item = Constant.readConstant(bd);
+            item.index = i;
+            this.entries[i] = item;
+        }
+    }
+
+    /**
+     * 使用已经读取好的entries，例如{@link ClassFileReader}
+     */
+    public ConstantPool(int count, Constant[] entries) {
+        this.count = count;
+        this.entries = entries;
+        this.attribute_decoders = new AtomicReferenceArray<>(count);
+        this.resolved_values = new AtomicReferenceArray<>(count);
+        this.source = null;
+        this.tags = null;
+        this.offsets = null;
+        super.bytes = ByteUtils.toBytes(count, 2);
+    }
+
+    // region raw access
+    /**
+     * @return index处的tag；index为0或者是Long、Double的第二个位置时，返回0
+     */
+    public byte getTag(final int index) {
+        if (tags != null) return tags[index];
+        Constant c = entries[index];
+        return c == null ? 0 : c.tag;
+    }
+
+    /**
+     * @return index处的entry（包括tag）在ClassFile中的起始位置；如果不知道，返回-1
+     */
+    public int getEntryOffset(final int index) {
+        if (offsets == null || tags[index] == 0) return -1;
+        return offsets[index];
+    }
+
+    /**
+     * 直接读取index处的entry（包括tag）的字节，不需要创建Constant对象
+     */
+    public byte[] getEntryBytes(final int index) {
+        if (offsets == null) {
+            Constant c = entries[index];
+            return c == null ? null : c.getBytes();
+        }
+        if (tags[index] == 0) return null;
+        return source.getBytes(offsets[index], offsets[index + 1] - offsets[index]);
     }
+    // endregion
 
     public Constant getConstant(final int index) {
         if (index >= count || index < 0) {
@@ -58,86 +155,119 @@ public final class ConstantPool extends Node {
 
     public String getConstantString(final int index, final byte tag) {
         Constant constant = getConstant(index, tag);
-        return constant.value;
+        return constant.getValue();
+    }
+
+    /**
+     * 每个attribute name只在AttributeRegistry中查找一次，之后使用constant pool index直接获取。
+     * 多个线程同时查找时，得到的是同一个结果，所以不需要加锁。
+     */
+    public AttributeDecoder getAttributeDecoder(final int attribute_name_index) {
+        AttributeDecoder decoder = attribute_decoders.get(attribute_name_index);
+        if (decoder == null) {
+            String name = getConstantString(attribute_name_index, CPConst.CONSTANT_Utf8);
+            decoder = AttributeRegistry.lookup(name);
+            attribute_decoders.set(attribute_name_index, decoder);
+        }
+        return decoder;
     }
 
     public void accept(Visitor v) {
         v.visitConstantPool(this);
     }
 
+    /**
+     * 将所有的entry的value替换成resolve(index)的结果
+     */
     public void simplify() {
         for (Constant item : entries) {
             if (item == null) continue;
-            byte tag = item.tag;
-            if (tag == CPConst.CONSTANT_Class) {
+            item.value = resolve(item.index);
+        }
+    }
+
+    /**
+     * <p>
+     *     得到index处的constant的符号化表示，例如，CONSTANT_Methodref为<code>java/lang/Object.&lt;init&gt;:()V</code>。
+     * </p>
+     * <p>
+     *     只有第一次访问时才计算，之后从缓存中获取；不会修改entry的value。
+     *     多个线程同时计算，得到的结果是相同的，所以不需要加锁。
+     * </p>
+     */
+    public String resolve(final int index) {
+        String symbol = resolved_values.get(index);
+        if (symbol == null) {
+            symbol = resolveConstant(getConstant(index));
+            resolved_values.set(index, symbol);
+        }
+        return symbol;
+    }
+
+    private String resolveConstant(final Constant item) {
+        if (item == null) {
+            throw new RuntimeException("Constant pool entry is null.");
+        }
+
+        switch (item.tag) {
+            case CPConst.CONSTANT_Class: {
                 ConstantClass sub = (ConstantClass) item;
-                item.value = this.getConstantString(sub.name_index, CPConst.CONSTANT_Utf8);
-            } else if (tag == CPConst.CONSTANT_String) {
+                return this.getConstantString(sub.name_index, CPConst.CONSTANT_Utf8);
+            }
+            case CPConst.CONSTANT_String: {
                 ConstantString sub = (ConstantString) item;
-                item.value = this.getConstantString(sub.string_index, CPConst.CONSTANT_Utf8);
-            } else if (tag == CPConst.CONSTANT_NameAndType) {
+                return this.getConstantString(sub.string_index, CPConst.CONSTANT_Utf8);
+            }
+            case CPConst.CONSTANT_NameAndType: {
                 ConstantNameAndType sub = (ConstantNameAndType) item;
                 String name = this.getConstantString(sub.name_index, CPConst.CONSTANT_Utf8);
                 String descriptor = this.getConstantString(sub.descriptor_index, CPConst.CONSTANT_Utf8);
-                item.value = name + ":" + descriptor;
-            } else if (tag == CPConst.CONSTANT_MethodType) {
+                return name + ":" + descriptor;
+            }
+            case CPConst.CONSTANT_MethodType: {
                 ConstantMethodType sub = (ConstantMethodType) item;
-                item.value = this.getConstantString(sub.descriptor_index, CPConst.CONSTANT_Utf8);
-            } else {
-                // do nothing
+                return this.getConstantString(sub.descriptor_index, CPConst.CONSTANT_Utf8);
             }
-        }
-
-        for (Constant item : entries) {
-            if (item == null) continue;
-            byte tag = item.tag;
-            if (tag == CPConst.CONSTANT_Fieldref) {
-                ConstantFieldref sub = (ConstantFieldref) item;
-                int classIndex = sub.getClassIndex();
-                int nameAndTypeIndex = sub.getNameAndTypeIndex();
-
-                String className = this.getConstantString(classIndex, CPConst.CONSTANT_Class);
-                String nameAndType = this.getConstantString(nameAndTypeIndex, CPConst.CONSTANT_NameAndType);
-                item.value = className + "." + nameAndType;
-            } else if (tag == CPConst.CONSTANT_Methodref) {
-                ConstantMethodref sub = (ConstantMethodref) item;
-                int classIndex = sub.getClassIndex();
-                int nameAndTypeIndex = sub.getNameAndTypeIndex();
-
-                String className = this.getConstantString(classIndex, CPConst.CONSTANT_Class);
-                String nameAndType = this.getConstantString(nameAndTypeIndex, CPConst.CONSTANT_NameAndType);
-                item.value = className + "." + nameAndType;
-            } else if (tag == CPConst.CONSTANT_InterfaceMethodref) {
-                ConstantInterfaceMethodref sub = (ConstantInterfaceMethodref) item;
-                int classIndex = sub.getClassIndex();
-                int nameAndTypeIndex = sub.getNameAndTypeIndex();
-
-                String className = this.getConstantString(classIndex, CPConst.CONSTANT_Class);
-                String nameAndType = this.getConstantString(nameAndTypeIndex, CPConst.CONSTANT_NameAndType);
-                item.value = className + "." + nameAndType;
-            } else if (tag == CPConst.CONSTANT_Dynamic) {
+            case CPConst.CONSTANT_Module: {
+                ConstantModule sub = (ConstantModule) item;
+                return this.getConstantString(sub.name_index, CPConst.CONSTANT_Utf8);
+            }
+            case CPConst.CONSTANT_Package: {
+                ConstantPackage sub = (ConstantPackage) item;
+                return this.getConstantString(sub.name_index, CPConst.CONSTANT_Utf8);
+            }
+            case CPConst.CONSTANT_Fieldref:
+            case CPConst.CONSTANT_Methodref:
+            case CPConst.CONSTANT_InterfaceMethodref: {
+                ConstantRef sub = (ConstantRef) item;
+                String className = this.resolve(checkTag(sub.getClassIndex(), CPConst.CONSTANT_Class));
+                String nameAndType = this.resolve(checkTag(sub.getNameAndTypeIndex(), CPConst.CONSTANT_NameAndType));
+                return className + "." + nameAndType;
+            }
+            case CPConst.CONSTANT_Dynamic: {
                 ConstantDynamic sub = (ConstantDynamic) item;
-                item.value = this.getConstantString(sub.name_and_type_index, CPConst.CONSTANT_NameAndType);
-            } else if (tag == CPConst.CONSTANT_InvokeDynamic) {
+                return this.resolve(checkTag(sub.name_and_type_index, CPConst.CONSTANT_NameAndType));
+            }
+            case CPConst.CONSTANT_InvokeDynamic: {
                 ConstantInvokeDynamic sub = (ConstantInvokeDynamic) item;
-                item.value = "#" + sub.bootstrap_method_attr_index + ":" + this.getConstantString(sub.name_and_type_index, CPConst.CONSTANT_NameAndType);
-            } else {
-                // do nothing
+                return "#" + sub.bootstrap_method_attr_index + ":" + this.resolve(checkTag(sub.name_and_type_index, CPConst.CONSTANT_NameAndType));
             }
-        }
-
-        for (Constant item : entries) {
-            if (item == null) continue;
-            byte tag = item.tag;
-            if (tag == CPConst.CONSTANT_MethodHandle) {
+            case CPConst.CONSTANT_MethodHandle: {
                 ConstantMethodHandle sub = (ConstantMethodHandle) item;
                 String reference_kind_str = getReferenceKind(sub.reference_kind);
-                Constant target = this.getConstant(sub.reference_index);
-                item.value = reference_kind_str + " " + target.value;
+                return reference_kind_str + " " + this.resolve(sub.reference_index);
             }
+            default:
+                // CONSTANT_Utf8, CONSTANT_Integer, CONSTANT_Float, CONSTANT_Long, CONSTANT_Double
+                return item.getValue();
         }
     }
 
+    private int checkTag(final int index, final byte tag) {
+        getConstant(index, tag);
+        return index;
+    }
+
     public static String getReferenceKind(int reference_kind) {
         switch (reference_kind) {
             case 1:
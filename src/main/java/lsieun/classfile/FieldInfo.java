@@ -1,10 +1,8 @@
 package lsieun.classfile;
 
-import lsieun.classfile.attrs.AttributeInfo;
 import lsieun.cst.AccessConst;
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class FieldInfo extends Node {
@@ -18,7 +16,11 @@ public final class FieldInfo extends Node {
     public final String descriptor;
 
     public FieldInfo(ByteDashboard bd, ConstantPool cp) {
-        byte[] bytes = bd.peekN(8);
+        this(bd, cp, false);
+    }
+
+    public FieldInfo(ByteDashboard bd, ConstantPool cp, boolean lazy) {
+        int start = bd.getIndex();
 
         this.access_flags = bd.readUnsignedShort();
         this.name_index = bd.readUnsignedShort();
@@ -31,13 +33,10 @@ public final class FieldInfo extends Node {
         this.descriptor = descriptor;
         this.value = name + ":" + descriptor;
 
-        this.attributes = new Attributes(bd, cp);
-        for (int i = 0; i < attributes.attributes_count; i++) {
-            AttributeInfo attr = attributes.entries[i];
-            bytes = ByteUtils.concatenate(bytes, attr.bytes);
-        }
-        // 设置bytes
-        super.bytes = bytes;
+        this.attributes = new Attributes(bd, cp, lazy);
+
+        // 设置source
+        super.setSource(bd, start, bd.getIndex() - start);
     }
 
     public String getAccessFlagsString() {
@@ -6,20 +6,64 @@ import lsieun.vs.Visitor;
 
 public class Fields extends Node {
     public final int fields_count;
-    public final FieldInfo[] entries;
+    // lazy模式下，没有解析的位置为null，外部使用get(i)或getEntries()
+    private final FieldInfo[] entries;
+
+    // lazy: 只记录每个field_info的起始位置，第一次访问时才解析
+    private final ByteDashboard source;
+    private final int[] offsets;
+    private final ConstantPool cp;
 
     public Fields(ByteDashboard bd, ConstantPool cp) {
+        this(bd, cp, false);
+    }
+
+    public Fields(ByteDashboard bd, ConstantPool cp, boolean lazy) {
         byte[] fields_count_bytes = bd.nextN(2);
         this.fields_count = ByteUtils.bytesToInt(fields_count_bytes);
 
         this.entries = new FieldInfo[fields_count];
-        for (int i = 0; i < fields_count; i++) {
-            FieldInfo fieldInfo = new FieldInfo(bd, cp);
-            this.entries[i] = fieldInfo;
+        if (lazy) {
+            this.source = bd;
+            this.offsets = new int[fields_count + 1];
+            this.cp = cp;
+            for (int i = 0; i < fields_count; i++) {
+                this.offsets[i] = bd.getIndex();
+                bd.skip(6);
+                Attributes.skipAttributes(bd);
+            }
+            this.offsets[fields_count] = bd.getIndex();
+        }
+        else {
+            this.source = null;
+            this.offsets = null;
+            this.cp = null;
+            for (int i = 0; i < fields_count; i++) {
+                FieldInfo fieldInfo = new FieldInfo(bd, cp);
+                this.entries[i] = fieldInfo;
+            }
         }
         super.bytes = fields_count_bytes;
     }
 
+    public synchronized FieldInfo get(int i) {
+        FieldInfo fieldInfo = entries[i];
+        if (fieldInfo == null) {
+            int offset = offsets[i];
+            ByteDashboard bd = source.view(offset, offsets[i + 1] - offset);
+            fieldInfo = new FieldInfo(bd, cp, true);
+            entries[i] = fieldInfo;
+        }
+        return fieldInfo;
+    }
+
+    public FieldInfo[] getEntries() {
+        for (int i = 0; i < fields_count; i++) {
+            get(i);
+        }
+        return entries;
+    }
+
     public void accept(Visitor v) {
         v.visitFields(this);
     }
@@ -4,22 +4,101 @@ import lsieun.utils.ByteDashboard;
 import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
+import java.util.stream.IntStream;
+
 public final class Methods extends Node {
+    // 所有method_info的总大小达到这个值时，使用多个线程解析（例如，ANTLR、protobuf生成的类）；
+    // jar、classpath的扫描本身已经是并行的，普通的类不应该再拆分
+    public static final int PARALLEL_THRESHOLD = 1 << 20;
+    // method数量少于这个值时，不需要计算总大小
+    public static final int PARALLEL_MIN_COUNT = 16;
+
     public final int methods_count;
-    public final MethodInfo[] entries;
+    // lazy模式下，没有解析的位置为null，外部使用get(i)或getEntries()
+    private final MethodInfo[] entries;
+
+    // lazy: 只记录每个method_info的起始位置，第一次访问时才解析
+    private final ByteDashboard source;
+    private final int[] offsets;
+    private final ConstantPool cp;
 
     public Methods(ByteDashboard bd, ConstantPool cp) {
+        this(bd, cp, false);
+    }
+
+    public Methods(ByteDashboard bd, ConstantPool cp, boolean lazy) {
         byte[] methods_count_bytes = bd.nextN(2);
         this.methods_count = ByteUtils.bytesToInt(methods_count_bytes);
 
         this.entries = new MethodInfo[methods_count];
-        for (int i = 0; i < methods_count; i++) {
-            MethodInfo methodInfo = new MethodInfo(bd, cp);
-            this.entries[i] = methodInfo;
+        if (lazy) {
+            this.source = bd;
+            this.offsets = scanOffsets(bd, methods_count);
+            this.cp = cp;
+        }
+        else {
+            this.source = null;
+            this.offsets = null;
+            this.cp = null;
+            int[] offsets = methods_count >= PARALLEL_MIN_COUNT ? scanOffsets(bd, methods_count) : null;
+            if (offsets != null && offsets[methods_count] - offsets[0] >= PARALLEL_THRESHOLD) {
+                parseParallel(bd, cp, offsets, entries);
+            }
+            else {
+                if (offsets != null) {
+                    bd.setIndex(offsets[0]);
+                }
+                for (int i = 0; i < methods_count; i++) {
+                    MethodInfo methodInfo = new MethodInfo(bd, cp);
+                    this.entries[i] = methodInfo;
+                }
+            }
         }
         super.bytes = methods_count_bytes;
     }
 
+    /**
+     * 第一步，只根据attribute_length跳过每个method_info，记录它们的起始位置；offsets[count]是结束位置
+     */
+    private static int[] scanOffsets(ByteDashboard bd, int count) {
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = bd.getIndex();
+            bd.skip(6);
+            Attributes.skipAttributes(bd);
+        }
+        offsets[count] = bd.getIndex();
+        return offsets;
+    }
+
+    /**
+     * 第二步，每个method_info使用单独的view，可以在多个线程中同时解析
+     */
+    private static void parseParallel(ByteDashboard bd, ConstantPool cp, int[] offsets, MethodInfo[] entries) {
+        IntStream.range(0, entries.length).parallel().forEach(i -> {
+            int offset = offsets[i];
+            entries[i] = new MethodInfo(bd.view(offset, offsets[i + 1] - offset), cp);
+        });
+    }
+
+    public synchronized MethodInfo get(int i) {
+        MethodInfo methodInfo = entries[i];
+        if (methodInfo == null) {
+            int offset = offsets[i];
+            ByteDashboard bd = source.view(offset, offsets[i + 1] - offset);
+            methodInfo = new MethodInfo(bd, cp, true);
+            entries[i] = methodInfo;
+        }
+        return methodInfo;
+    }
+
+    public MethodInfo[] getEntries() {
+        for (int i = 0; i < methods_count; i++) {
+            get(i);
+        }
+        return entries;
+    }
+
     public void accept(Visitor v) {
         v.visitMethods(this);
     }
@@ -1,12 +1,61 @@
 package lsieun.classfile;
 
+import lsieun.utils.ByteDashboard;
 import lsieun.utils.HexUtils;
 
 public abstract class Node {
     public byte[] bytes;
     public String value;
 
+    // 在source中的位置：只记录(offset, length)，需要时才复制bytes
+    private ByteDashboard source;
+    private int offset;
+    private int length;
+
+    /**
+     * 记录当前Node在<code>bd</code>中的位置（绝对位置）。
+     * 如果<code>bd</code>的数据会被重复使用（例如，ByteWindow），那么立即复制。
+     */
+    protected void setSource(ByteDashboard bd, int offset, int length) {
+        if (bd.isReusable()) {
+            this.bytes = bd.getBytes(offset, length);
+        }
+        else {
+            this.source = bd;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 如果没有直接设置bytes，那么从source中复制一份
+     */
+    public byte[] getBytes() {
+        if (bytes != null) return bytes;
+        if (source == null) return null;
+        return source.getBytes(offset, length);
+    }
+
+    /**
+     * 在source中的起始位置；如果没有source，返回-1
+     */
+    public int getOffset() {
+        return source == null ? -1 : offset;
+    }
+
+    public int getLength() {
+        if (bytes != null) return bytes.length;
+        return source == null ? 0 : length;
+    }
+
+    /**
+     * 子类可以延迟计算value，例如{@link lsieun.classfile.cp.ConstantUtf8}
+     */
+    public String getValue() {
+        return value;
+    }
+
     public String hex() {
-        return HexUtils.toHex(this.bytes);
+        return HexUtils.toHex(this.getBytes());
     }
 }
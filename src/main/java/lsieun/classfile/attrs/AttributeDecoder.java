@@ -0,0 +1,12 @@
+package lsieun.classfile.attrs;
+
+import lsieun.classfile.ConstantPool;
+import lsieun.utils.ByteDashboard;
+
+/**
+ * 将一个attribute（包括attribute_name_index和attribute_length）解析成AttributeInfo对象。
+ * 解析完成之后，<code>bd</code>的index应该位于这个attribute的结尾。
+ */
+public interface AttributeDecoder {
+    AttributeInfo decode(ByteDashboard bd, ConstantPool cp);
+}
@@ -0,0 +1,67 @@
+package lsieun.classfile.attrs;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ *     attribute name到{@link AttributeDecoder}的映射。
+ * </p>
+ * <p>
+ *     可以使用{@link #register(String, AttributeDecoder)}添加自定义的attribute；
+ *     没有注册的attribute使用{@link RawAttribute}。
+ * </p>
+ * <p>
+ *     注意：每个ConstantPool只查找一次（见{@link lsieun.classfile.ConstantPool#getAttributeDecoder(int)}），
+ *     所以，应该在解析之前注册。
+ * </p>
+ */
+public class AttributeRegistry {
+    public static final AttributeDecoder RAW = RawAttribute::new;
+
+    private static final Map<String, AttributeDecoder> decoders = new ConcurrentHashMap<>();
+
+    static {
+        register("SourceFile", SourceFile::new);
+        register("InnerClasses", InnerClasses::new);
+        register("Code", Code::new);
+        register("LineNumberTable", LineNumberTable::new);
+        register("LocalVariableTable", LocalVariableTable::new);
+        register("LocalVariableTypeTable", LocalVariableTypeTable::new);
+        register("Signature", Signature::new);
+        register("Deprecated", Deprecated::new);
+        register("Exceptions", Exceptions::new);
+        register("ConstantValue", ConstantValue::new);
+        register("RuntimeVisibleAnnotations", RuntimeVisibleAnnotations::new);
+        register("RuntimeInvisibleAnnotations", RuntimeInvisibleAnnotations::new);
+        register("RuntimeVisibleParameterAnnotations", RuntimeVisibleParameterAnnotations::new);
+        register("RuntimeInvisibleParameterAnnotations", RuntimeInvisibleParameterAnnotations::new);
+        register("RuntimeVisibleTypeAnnotations", RuntimeVisibleTypeAnnotations::new);
+        register("RuntimeInvisibleTypeAnnotations", RuntimeInvisibleTypeAnnotations::new);
+        register("StackMapTable", StackMapTable::new);
+        register("MethodParameters", MethodParameters::new);
+        register("EnclosingMethod", EnclosingMethod::new);
+        register("AnnotationDefault", AnnotationDefault::new);
+        register("BootstrapMethods", BootstrapMethods::new);
+        register("SourceDebugExtension", SourceDebugExtension::new);
+    }
+
+    public static void register(String name, AttributeDecoder decoder) {
+        if (name == null || decoder == null) {
+            throw new IllegalArgumentException("name and decoder must not be null");
+        }
+        decoders.put(name, decoder);
+    }
+
+    public static void unregister(String name) {
+        decoders.remove(name);
+    }
+
+    /**
+     * 如果没有注册，返回{@link #RAW}
+     */
+    public static AttributeDecoder lookup(String name) {
+        AttributeDecoder decoder = decoders.get(name);
+        return decoder != null ? decoder : RAW;
+    }
+}
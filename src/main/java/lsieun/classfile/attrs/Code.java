@@ -3,7 +3,6 @@ package lsieun.classfile.attrs;
 import lsieun.classfile.Attributes;
 import lsieun.classfile.ConstantPool;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class Code extends AttributeInfo {
@@ -25,8 +24,7 @@ public final class Code extends AttributeInfo {
         this.code = bd.nextN(code_length);
 
         // 第二部分
-        byte[] exception_table_length_bytes = bd.nextN(2);
-        this.exception_table_length = ByteUtils.bytesToInt(exception_table_length_bytes, 0);
+        this.exception_table_length = bd.readUnsignedShort();
         this.exception_table_array = new ExceptionTable[exception_table_length];
         for (int i = 0; i < exception_table_length; i++) {
             ExceptionTable item = new ExceptionTable(bd, cp);
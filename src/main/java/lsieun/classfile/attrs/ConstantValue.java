@@ -11,7 +11,7 @@ public final class ConstantValue extends AttributeInfo {
         super(bd, cp);
 
         this.constantvalue_index = bd.readUnsignedShort();
-        this.value = cp.getConstant(constantvalue_index).value;
+        this.value = cp.getConstant(constantvalue_index).getValue();
     }
 
     @Override
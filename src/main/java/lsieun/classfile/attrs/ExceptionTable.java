@@ -24,7 +24,7 @@ public class ExceptionTable {
             exceptionType = "All";
         }
         else {
-            exceptionType = cp.getConstant(catch_type, CPConst.CONSTANT_Class).value;
+            exceptionType = cp.getConstant(catch_type, CPConst.CONSTANT_Class).getValue();
         }
 
         //exceptionType = exceptionType.replaceAll("/", ".");
@@ -0,0 +1,24 @@
+package lsieun.classfile.attrs;
+
+import lsieun.classfile.ConstantPool;
+import lsieun.utils.ByteDashboard;
+
+/**
+ * 没有注册{@link AttributeDecoder}的attribute（例如，NestHost、Module、Kotlin或Scala自定义的attribute），
+ * 只保留原始的字节，不做解析。
+ */
+public class RawAttribute extends AttributeInfo {
+    public RawAttribute(ByteDashboard bd, ConstantPool cp) {
+        super(bd, cp);
+        bd.skip(attribute_length);
+    }
+
+    /**
+     * attribute的info部分（不包括attribute_name_index和attribute_length）
+     */
+    public byte[] getInfo() {
+        byte[] info = new byte[attribute_length];
+        System.arraycopy(getBytes(), 6, info, 0, attribute_length);
+        return info;
+    }
+}
@@ -3,7 +3,6 @@ package lsieun.classfile.attrs;
 import lsieun.classfile.ConstantPool;
 import lsieun.cst.StackMapConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 
 public final class StackMapFrame {
     public int frame_type;
@@ -12,8 +11,7 @@ public final class StackMapFrame {
     public StackMapType[] types_of_stack_items;
 
     StackMapFrame(ByteDashboard bd, ConstantPool cp) {
-        byte[] frame_type_bytes = bd.nextN(1);
-        this.frame_type = ByteUtils.bytesToInt(frame_type_bytes, 0);
+        this.frame_type = bd.readUnsignedByte();
         this.byte_code_offset = 0;
         this.types_of_locals = new StackMapType[0];
         this.types_of_stack_items = new StackMapType[0];
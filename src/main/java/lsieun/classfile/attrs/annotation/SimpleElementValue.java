@@ -10,7 +10,7 @@ public final class SimpleElementValue extends ElementValue {
         super(bd);
 
         this.const_value_index = bd.readUnsignedShort();
-        this.value = cp.getConstant(const_value_index).value;
+        this.value = cp.getConstant(const_value_index).getValue();
     }
 
     @Override
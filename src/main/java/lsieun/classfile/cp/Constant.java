@@ -50,11 +50,59 @@ public abstract class Constant extends Node {
                 return new ConstantDynamic(bd);
             case CPConst.CONSTANT_InvokeDynamic:
                 return new ConstantInvokeDynamic(bd);
+            case CPConst.CONSTANT_Module:
+                return new ConstantModule(bd);
+            case CPConst.CONSTANT_Package:
+                return new ConstantPackage(bd);
             default:
                 throw new RuntimeException("Invalid byte tag in constant pool: " + tag);
         }
     }
 
+    /**
+     * 除了CONSTANT_Utf8之外，constant pool entry的长度（包括tag）是由tag决定的。
+     */
+    public static int getFixedLength(final byte tag) {
+        switch (tag) {
+            case CPConst.CONSTANT_Class:
+            case CPConst.CONSTANT_String:
+            case CPConst.CONSTANT_MethodType:
+            case CPConst.CONSTANT_Module:
+            case CPConst.CONSTANT_Package:
+                return 3;
+            case CPConst.CONSTANT_MethodHandle:
+                return 4;
+            case CPConst.CONSTANT_Integer:
+            case CPConst.CONSTANT_Float:
+            case CPConst.CONSTANT_Fieldref:
+            case CPConst.CONSTANT_Methodref:
+            case CPConst.CONSTANT_InterfaceMethodref:
+            case CPConst.CONSTANT_NameAndType:
+            case CPConst.CONSTANT_Dynamic:
+            case CPConst.CONSTANT_InvokeDynamic:
+                return 5;
+            case CPConst.CONSTANT_Long:
+            case CPConst.CONSTANT_Double:
+                return 9;
+            default:
+                throw new RuntimeException("Invalid byte tag in constant pool: " + tag);
+        }
+    }
+
+    /**
+     * 不创建Constant对象，只是跳过一个constant pool entry，并返回它的tag。
+     */
+    public static byte skipConstant(final ByteDashboard bd) {
+        final byte tag = bd.peek();
+        if (tag == CPConst.CONSTANT_Utf8) {
+            bd.skip(3 + bd.peekUnsignedShort(1));
+        }
+        else {
+            bd.skip(getFixedLength(tag));
+        }
+        return tag;
+    }
+
     public void accept(Visitor obj) {
         obj.visitConstant(this);
     }
@@ -2,7 +2,6 @@ package lsieun.classfile.cp;
 
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class ConstantClass extends Constant {
@@ -11,12 +10,11 @@ public final class ConstantClass extends Constant {
     public ConstantClass(ByteDashboard bd) {
         super(CPConst.CONSTANT_Class);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] name_index_bytes = bd.nextN(2);
+        super.setSource(bd, bd.getIndex(), 3);
 
-        this.name_index = ByteUtils.bytesToInt(name_index_bytes);
+        bd.skip(1); // tag
+        this.name_index = bd.readUnsignedShort();
         super.value = "#" + this.name_index;
-        super.bytes = ByteUtils.concatenate(tag_bytes, name_index_bytes);
     }
 
     @Override
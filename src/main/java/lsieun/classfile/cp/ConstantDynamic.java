@@ -2,7 +2,6 @@ package lsieun.classfile.cp;
 
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class ConstantDynamic extends Constant {
@@ -12,15 +11,13 @@ public final class ConstantDynamic extends Constant {
     ConstantDynamic(ByteDashboard bd) {
         super(CPConst.CONSTANT_Dynamic);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] bootstrap_method_attr_index_bytes = bd.nextN(2);
-        byte[] name_and_type_index_bytes = bd.nextN(2);
+        super.setSource(bd, bd.getIndex(), 5);
 
-        this.bootstrap_method_attr_index = ByteUtils.bytesToInt(bootstrap_method_attr_index_bytes);
-        this.name_and_type_index = ByteUtils.bytesToInt(name_and_type_index_bytes);
+        bd.skip(1); // tag
+        this.bootstrap_method_attr_index = bd.readUnsignedShort();
+        this.name_and_type_index = bd.readUnsignedShort();
 
         super.value = "#" + name_and_type_index;
-        super.bytes = ByteUtils.concatenate(tag_bytes, bootstrap_method_attr_index_bytes, name_and_type_index_bytes);
     }
 
     @Override
@@ -2,7 +2,6 @@ package lsieun.classfile.cp;
 
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class ConstantInteger extends Constant {
@@ -11,12 +10,11 @@ public final class ConstantInteger extends Constant {
     ConstantInteger(ByteDashboard bd) {
         super(CPConst.CONSTANT_Integer);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] value_bytes = bd.nextN(4);
+        super.setSource(bd, bd.getIndex(), 5);
 
-        this.intValue = ByteUtils.toInt(value_bytes);
+        bd.skip(1); // tag
+        this.intValue = bd.readInt();
         super.value = String.valueOf(this.intValue);
-        super.bytes = ByteUtils.concatenate(tag_bytes, value_bytes);
     }
 
     @Override
@@ -2,7 +2,6 @@ package lsieun.classfile.cp;
 
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class ConstantLong extends Constant {
@@ -11,12 +10,11 @@ public final class ConstantLong extends Constant {
     ConstantLong(ByteDashboard bd) {
         super(CPConst.CONSTANT_Long);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] value_bytes = bd.nextN(8);
+        super.setSource(bd, bd.getIndex(), 9);
 
-        this.longValue = ByteUtils.toLong(value_bytes);
+        bd.skip(1); // tag
+        this.longValue = bd.readLong();
         super.value = String.valueOf(this.longValue);
-        super.bytes = ByteUtils.concatenate(tag_bytes, value_bytes);
     }
 
     @Override
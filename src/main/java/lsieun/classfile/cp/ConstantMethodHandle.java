@@ -2,7 +2,6 @@ package lsieun.classfile.cp;
 
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class ConstantMethodHandle extends Constant {
@@ -12,15 +11,13 @@ public final class ConstantMethodHandle extends Constant {
     ConstantMethodHandle(ByteDashboard bd) {
         super(CPConst.CONSTANT_MethodHandle);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] reference_kind_bytes = bd.nextN(1);
-        byte[] reference_index_bytes = bd.nextN(2);
+        super.setSource(bd, bd.getIndex(), 4);
 
-        this.reference_kind = ByteUtils.bytesToInt(reference_kind_bytes);
-        this.reference_index = ByteUtils.bytesToInt(reference_index_bytes);
+        bd.skip(1); // tag
+        this.reference_kind = bd.readUnsignedByte();
+        this.reference_index = bd.readUnsignedShort();
 
         super.value = "#" + reference_index;
-        super.bytes = ByteUtils.concatenate(tag_bytes, reference_kind_bytes, reference_index_bytes);
     }
 
     @Override
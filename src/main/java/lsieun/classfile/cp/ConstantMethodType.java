@@ -2,7 +2,6 @@ package lsieun.classfile.cp;
 
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class ConstantMethodType extends Constant {
@@ -11,12 +10,11 @@ public final class ConstantMethodType extends Constant {
     ConstantMethodType(ByteDashboard bd) {
         super(CPConst.CONSTANT_MethodType);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] descriptor_index_bytes = bd.nextN(2);
+        super.setSource(bd, bd.getIndex(), 3);
 
-        this.descriptor_index = ByteUtils.bytesToInt(descriptor_index_bytes);
+        bd.skip(1); // tag
+        this.descriptor_index = bd.readUnsignedShort();
         super.value = "#" + descriptor_index;
-        super.bytes = ByteUtils.concatenate(tag_bytes, descriptor_index_bytes);
     }
 
     @Override
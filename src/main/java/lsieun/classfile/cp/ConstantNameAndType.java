@@ -2,7 +2,6 @@ package lsieun.classfile.cp;
 
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class ConstantNameAndType extends Constant {
@@ -12,15 +11,13 @@ public final class ConstantNameAndType extends Constant {
     ConstantNameAndType(ByteDashboard bd) {
         super(CPConst.CONSTANT_NameAndType);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] name_index_bytes = bd.nextN(2);
-        byte[] descriptor_index_bytes = bd.nextN(2);
+        super.setSource(bd, bd.getIndex(), 5);
 
-        this.name_index = ByteUtils.bytesToInt(name_index_bytes);
-        this.descriptor_index = ByteUtils.bytesToInt(descriptor_index_bytes);
+        bd.skip(1); // tag
+        this.name_index = bd.readUnsignedShort();
+        this.descriptor_index = bd.readUnsignedShort();
 
         super.value = "#" + name_index + ":#" + descriptor_index;
-        super.bytes = ByteUtils.concatenate(tag_bytes, name_index_bytes, descriptor_index_bytes);
     }
 
     @Override
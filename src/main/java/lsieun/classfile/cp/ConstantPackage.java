@@ -0,0 +1,24 @@
+package lsieun.classfile.cp;
+
+import lsieun.cst.CPConst;
+import lsieun.utils.ByteDashboard;
+import lsieun.vs.Visitor;
+
+public final class ConstantPackage extends Constant {
+    public final int name_index;
+
+    ConstantPackage(ByteDashboard bd) {
+        super(CPConst.CONSTANT_Package);
+
+        super.setSource(bd, bd.getIndex(), 3);
+
+        bd.skip(1); // tag
+        this.name_index = bd.readUnsignedShort();
+        super.value = "#" + name_index;
+    }
+
+    @Override
+    public void accept(Visitor obj) {
+        obj.visitConstantPackage(this);
+    }
+}
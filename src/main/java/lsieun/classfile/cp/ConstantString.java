@@ -2,7 +2,6 @@ package lsieun.classfile.cp;
 
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
-import lsieun.utils.ByteUtils;
 import lsieun.vs.Visitor;
 
 public final class ConstantString extends Constant {
@@ -11,12 +10,11 @@ public final class ConstantString extends Constant {
     ConstantString(ByteDashboard bd) {
         super(CPConst.CONSTANT_String);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] string_index_bytes = bd.nextN(2);
+        super.setSource(bd, bd.getIndex(), 3);
 
-        this.string_index = ByteUtils.bytesToInt(string_index_bytes);
+        bd.skip(1); // tag
+        this.string_index = bd.readUnsignedShort();
         super.value = "#" + string_index;
-        super.bytes = ByteUtils.concatenate(tag_bytes, string_index_bytes);
     }
 
     @Override
@@ -3,24 +3,64 @@ package lsieun.classfile.cp;
 import lsieun.cst.CPConst;
 import lsieun.utils.ByteDashboard;
 import lsieun.utils.ByteUtils;
+import lsieun.utils.SymbolTable;
 import lsieun.vs.Visitor;
 
 public final class ConstantUtf8 extends Constant {
+    // tag(1) + length(2)
+    private static final int HEADER_LENGTH = 3;
+
     public final int length;
-    public final String utf8Value;
 
+    /**
+     * 如果启用了{@link SymbolTable}，bytes和value都使用表中共享的对象，刚读取的bytes可以被回收。
+     */
     ConstantUtf8(ByteDashboard bd) {
         super(CPConst.CONSTANT_Utf8);
 
-        byte[] tag_bytes = bd.nextN(1);
-        byte[] length_bytes = bd.nextN(2);
-        int length = ByteUtils.bytesToInt(length_bytes);
-        byte[] utf8_bytes = bd.nextN(length);
+        int length = bd.peekUnsignedShort(1);
+        byte[] bytes = bd.nextN(HEADER_LENGTH + length);
+        SymbolTable table = SymbolTable.getGlobal();
+        if (table != null) {
+            SymbolTable.Symbol symbol = table.intern(bytes, HEADER_LENGTH);
+            super.bytes = symbol.bytes;
+            super.value = symbol.value;
+        }
+        else {
+            super.bytes = bytes;
+        }
 
         this.length = length;
-        this.utf8Value = ByteUtils.toModifiedUtf8(utf8_bytes);
-        super.value = utf8Value;
-        super.bytes = ByteUtils.concatenate(tag_bytes, length_bytes, utf8_bytes);
+    }
+
+    /**
+     * 第一次访问时才将Modified UTF-8解码成String。
+     * 多个线程同时解码，得到的是相同的String，所以不需要加锁。
+     */
+    @Override
+    public String getValue() {
+        String str = super.value;
+        if (str == null) {
+            str = ByteUtils.toModifiedUtf8(super.bytes, HEADER_LENGTH, length);
+            super.value = str;
+        }
+        return str;
+    }
+
+    public String getUtf8Value() {
+        return getValue();
+    }
+
+    /**
+     * 直接比较Modified UTF-8的字节，不需要创建String
+     */
+    public boolean utf8Equals(byte[] utf8) {
+        if (utf8.length != length) return false;
+        byte[] bytes = super.bytes;
+        for (int i = 0; i < length; i++) {
+            if (bytes[HEADER_LENGTH + i] != utf8[i]) return false;
+        }
+        return true;
     }
 
     @Override
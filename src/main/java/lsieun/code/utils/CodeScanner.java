@@ -0,0 +1,246 @@
+package lsieun.code.utils;
+
+import lsieun.cst.OpcodeConst;
+import lsieun.utils.ByteUtils;
+
+/**
+ * <p>
+ *     查表得到每条指令的长度和种类，不解析operand，可以快速地跳过指令，或者找到某一类指令。
+ * </p>
+ * <pre>
+ * // 找到所有的方法调用
+ * CodeScanner.scan(code.code, CodeScanner.mask(CodeScanner.KIND_INVOKE), (bytes, opcode, pos) -&gt; {
+ *     int index = ByteUtils.readUnsignedShort(bytes, pos + 1);
+ *     System.out.println(pos + ": " + cp.resolve(index));
+ * });
+ * </pre>
+ * <p>
+ *     与{@link InstructionCursor}相同，<code>wide</code>不作为单独的指令，而是与后面的指令合在一起。
+ * </p>
+ */
+public final class CodeScanner {
+    // region kind
+    public static final int KIND_OTHER = 0;
+    /** IFxx、IF_xCMPxx、GOTO、JSR、IFNULL、IFNONNULL、GOTO_W、JSR_W */
+    public static final int KIND_BRANCH = 1;
+    /** TABLESWITCH、LOOKUPSWITCH */
+    public static final int KIND_SWITCH = 2;
+    /** INVOKEVIRTUAL、INVOKESPECIAL、INVOKESTATIC、INVOKEINTERFACE、INVOKEDYNAMIC */
+    public static final int KIND_INVOKE = 3;
+    /** GETSTATIC、PUTSTATIC、GETFIELD、PUTFIELD */
+    public static final int KIND_FIELD = 4;
+    /** xLOAD、xSTORE（包括xLOAD_n、xSTORE_n）、IINC、RET */
+    public static final int KIND_LOCAL = 5;
+    /** 其他使用constant pool的指令：LDC、LDC_W、LDC2_W、NEW、ANEWARRAY、CHECKCAST、INSTANCEOF、MULTIANEWARRAY */
+    public static final int KIND_CONSTANT = 6;
+    /** xRETURN、ATHROW */
+    public static final int KIND_RETURN = 7;
+    // endregion
+
+    // opcode --> 指令长度；0表示长度不固定（WIDE、TABLESWITCH、LOOKUPSWITCH），-1表示不合法的opcode
+    private static final byte[] LENGTHS = new byte[256];
+    // opcode --> KIND_XXX
+    private static final byte[] KINDS = new byte[256];
+
+    static {
+        for (int opcode = 0; opcode < 256; opcode++) {
+            int n = opcode < OpcodeConst.OPCODE_NAMES_LENGTH ? OpcodeConst.getNoOfOperands(opcode) : OpcodeConst.UNDEFINED;
+            if (n >= 0) {
+                LENGTHS[opcode] = (byte) (n + 1);
+            }
+            else if (n == OpcodeConst.UNPREDICTABLE) {
+                LENGTHS[opcode] = 0;
+            }
+            else {
+                LENGTHS[opcode] = -1;
+            }
+        }
+
+        setKind(OpcodeConst.IFEQ, OpcodeConst.JSR, KIND_BRANCH);
+        setKind(OpcodeConst.IFNULL, OpcodeConst.JSR_W, KIND_BRANCH);
+        setKind(OpcodeConst.TABLESWITCH, OpcodeConst.LOOKUPSWITCH, KIND_SWITCH);
+        setKind(OpcodeConst.INVOKEVIRTUAL, OpcodeConst.INVOKEDYNAMIC, KIND_INVOKE);
+        setKind(OpcodeConst.GETSTATIC, OpcodeConst.PUTFIELD, KIND_FIELD);
+        setKind(OpcodeConst.ILOAD, OpcodeConst.ALOAD_3, KIND_LOCAL);
+        setKind(OpcodeConst.ISTORE, OpcodeConst.ASTORE_3, KIND_LOCAL);
+        setKind(OpcodeConst.IINC, OpcodeConst.IINC, KIND_LOCAL);
+        setKind(OpcodeConst.RET, OpcodeConst.RET, KIND_LOCAL);
+        setKind(OpcodeConst.LDC, OpcodeConst.LDC2_W, KIND_CONSTANT);
+        setKind(OpcodeConst.NEW, OpcodeConst.NEW, KIND_CONSTANT);
+        setKind(OpcodeConst.ANEWARRAY, OpcodeConst.ANEWARRAY, KIND_CONSTANT);
+        setKind(OpcodeConst.CHECKCAST, OpcodeConst.INSTANCEOF, KIND_CONSTANT);
+        setKind(OpcodeConst.MULTIANEWARRAY, OpcodeConst.MULTIANEWARRAY, KIND_CONSTANT);
+        setKind(OpcodeConst.IRETURN, OpcodeConst.RETURN, KIND_RETURN);
+        setKind(OpcodeConst.ATHROW, OpcodeConst.ATHROW, KIND_RETURN);
+    }
+
+    private static void setKind(int from, int to, int kind) {
+        for (int opcode = from; opcode <= to; opcode++) {
+            KINDS[opcode] = (byte) kind;
+        }
+    }
+
+    private CodeScanner() {
+    }
+
+    public static int mask(int... kinds) {
+        int mask = 0;
+        for (int kind : kinds) {
+            mask |= 1 << kind;
+        }
+        return mask;
+    }
+
+    public static int getKind(int opcode) {
+        return KINDS[opcode];
+    }
+
+    /**
+     * @return opcode的固定长度；长度不固定时返回0，不合法的opcode返回-1
+     */
+    public static int getFixedLength(int opcode) {
+        return LENGTHS[opcode];
+    }
+
+    // region skip
+    public static int length(byte[] code, int pos) {
+        return length(code, 0, pos);
+    }
+
+    /**
+     * @param start code的起始位置，tableswitch和lookupswitch的padding是相对于start计算的
+     * @param pos 指令的位置（绝对位置）
+     * @return 指令的长度；wide指令包括wide本身
+     */
+    public static int length(byte[] code, int start, int pos) {
+        int opcode = code[pos] & 0xFF;
+        int len = LENGTHS[opcode];
+        if (len > 0) return len;
+        if (len < 0) {
+            throw new RuntimeException("Invalid opcode " + opcode + " at " + (pos - start));
+        }
+
+        switch (opcode) {
+            case OpcodeConst.WIDE:
+                return (code[pos + 1] & 0xFF) == OpcodeConst.IINC ? 6 : 4;
+            case OpcodeConst.TABLESWITCH: {
+                int base = switchBase(start, pos);
+                int low = ByteUtils.readInt(code, base + 4);
+                int high = ByteUtils.readInt(code, base + 8);
+                return base + 12 + (high - low + 1) * 4 - pos;
+            }
+            default: {
+                // LOOKUPSWITCH
+                int base = switchBase(start, pos);
+                int npairs = ByteUtils.readInt(code, base + 4);
+                return base + 8 + npairs * 8 - pos;
+            }
+        }
+    }
+
+    /**
+     * tableswitch和lookupswitch在padding之后的位置，即default的位置
+     */
+    static int switchBase(int start, int pos) {
+        int p = pos - start + 1;
+        return start + p + ((4 - (p & 3)) & 3);
+    }
+
+    /**
+     * 指令的数量，wide和后面的指令算作一条
+     */
+    public static int count(byte[] code) {
+        int count = 0;
+        for (int pos = 0; pos < code.length; pos += length(code, 0, pos)) {
+            count++;
+        }
+        return count;
+    }
+    // endregion
+
+    // region scan
+    public interface Handler {
+        /**
+         * @param opcode 对于wide指令，是wide后面的opcode
+         * @param pos 指令的位置；对于wide指令，是wide的位置
+         */
+        void handle(byte[] code, int opcode, int pos);
+    }
+
+    /**
+     * 依次访问种类属于<code>mask</code>（见{@link #mask(int...)}）的指令
+     */
+    public static void scan(byte[] code, int mask, Handler handler) {
+        int pos = 0;
+        int end = code.length;
+        while (pos < end) {
+            int opcode = code[pos] & 0xFF;
+            int len = LENGTHS[opcode];
+            if (len <= 0) {
+                len = length(code, 0, pos);
+                if (opcode == OpcodeConst.WIDE) {
+                    int modified = code[pos + 1] & 0xFF;
+                    if ((mask & (1 << KINDS[modified])) != 0) {
+                        handler.handle(code, modified, pos);
+                    }
+                    pos += len;
+                    continue;
+                }
+            }
+            if ((mask & (1 << KINDS[opcode])) != 0) {
+                handler.handle(code, opcode, pos);
+            }
+            pos += len;
+        }
+    }
+
+    /**
+     * 所有跳转指令（包括tableswitch和lookupswitch）的跳转目标，从小到大排序，没有重复
+     */
+    public static int[] getBranchTargets(byte[] code) {
+        final boolean[] targets = new boolean[code.length];
+        final int[] count = new int[1];
+        scan(code, mask(KIND_BRANCH, KIND_SWITCH), (bytes, opcode, pos) -> {
+            switch (opcode) {
+                case OpcodeConst.GOTO_W:
+                case OpcodeConst.JSR_W:
+                    count[0] += mark(targets, pos + ByteUtils.readInt(bytes, pos + 1));
+                    break;
+                case OpcodeConst.TABLESWITCH: {
+                    int base = switchBase(0, pos);
+                    int n = ByteUtils.readInt(bytes, base + 8) - ByteUtils.readInt(bytes, base + 4) + 1;
+                    count[0] += mark(targets, pos + ByteUtils.readInt(bytes, base));
+                    for (int i = 0; i < n; i++) {
+                        count[0] += mark(targets, pos + ByteUtils.readInt(bytes, base + 12 + i * 4));
+                    }
+                    break;
+                }
+                case OpcodeConst.LOOKUPSWITCH: {
+                    int base = switchBase(0, pos);
+                    int n = ByteUtils.readInt(bytes, base + 4);
+                    count[0] += mark(targets, pos + ByteUtils.readInt(bytes, base));
+                    for (int i = 0; i < n; i++) {
+                        count[0] += mark(targets, pos + ByteUtils.readInt(bytes, base + 12 + i * 8));
+                    }
+                    break;
+                }
+                default:
+                    count[0] += mark(targets, pos + ByteUtils.readShort(bytes, pos + 1));
+            }
+        });
+
+        int[] result = new int[count[0]];
+        int j = 0;
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i]) result[j++] = i;
+        }
+        return result;
+    }
+
+    private static int mark(boolean[] targets, int target) {
+        if (targets[target]) return 0;
+        targets[target] = true;
+        return 1;
+    }
+    // endregion
+}
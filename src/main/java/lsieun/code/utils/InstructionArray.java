@@ -0,0 +1,214 @@
+package lsieun.code.utils;
+
+import lsieun.cst.OpcodeConst;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     用多个int[]存放一个方法的所有指令，第i条指令的位置、opcode、operand分别是
+ *     <code>positions[i]</code>、<code>opcodes[i]</code>、<code>operands[i]</code>。
+ *     另外还有一个大小为code_length的表，由pc得到指令的序号，所以查找跳转目标、exception table的范围都只需要O(1)。
+ * </p>
+ * <p>
+ *     operands[i]的含义：
+ * </p>
+ * <ul>
+ *     <li>跳转指令（IFxx、GOTO、JSR、GOTO_W、JSR_W）：跳转目标的pc</li>
+ *     <li>TABLESWITCH、LOOKUPSWITCH：在switch_data中的起始位置，见{@link #getSwitchDefault(int)}</li>
+ *     <li>使用constant pool的指令：constant pool index</li>
+ *     <li>xLOAD、xSTORE、IINC、RET：local variable index（xLOAD_n、xSTORE_n为n）</li>
+ *     <li>BIPUSH、SIPUSH：值；NEWARRAY：atype</li>
+ *     <li>其他指令：0</li>
+ * </ul>
+ * <p>
+ *     extras[i]是IINC的增量、MULTIANEWARRAY的dimensions、INVOKEINTERFACE的count，其他指令为0。
+ *     与{@link InstructionCursor}相同，wide和后面的指令算作一条。
+ * </p>
+ */
+public class InstructionArray {
+    public final int count;
+    public final int code_length;
+
+    // 长度为count + 1，positions[count] = code_length
+    public final int[] positions;
+    public final int[] opcodes;
+    public final int[] operands;
+    public final int[] extras;
+
+    // 每个switch：default_pc, npairs, (match, target_pc) * npairs
+    private final int[] switch_data;
+
+    // pc --> 指令的序号；不是指令起始位置的pc为-1
+    private final int[] index_of_pc;
+
+    private final byte[] code;
+
+    public InstructionArray(byte[] code) {
+        this.code = code;
+        this.code_length = code.length;
+        this.count = CodeScanner.count(code);
+        this.positions = new int[count + 1];
+        this.opcodes = new int[count];
+        this.operands = new int[count];
+        this.extras = new int[count];
+        this.index_of_pc = new int[code_length];
+        Arrays.fill(index_of_pc, -1);
+
+        int switch_length = 0;
+        InstructionCursor cursor = new InstructionCursor(code);
+        for (int i = 0; cursor.next(); i++) {
+            int pos = cursor.pos();
+            int opcode = cursor.opcode();
+            positions[i] = pos;
+            opcodes[i] = opcode;
+            index_of_pc[pos] = i;
+
+            switch (CodeScanner.getKind(opcode)) {
+                case CodeScanner.KIND_BRANCH:
+                    operands[i] = cursor.branchTarget();
+                    break;
+                case CodeScanner.KIND_SWITCH:
+                    switch_length += 2 + 2 * cursor.switchCount();
+                    break;
+                case CodeScanner.KIND_INVOKE:
+                    operands[i] = cursor.cpIndex();
+                    if (opcode == OpcodeConst.INVOKEINTERFACE) {
+                        extras[i] = code[pos + 3] & 0xFF;
+                    }
+                    break;
+                case CodeScanner.KIND_FIELD:
+                    operands[i] = cursor.cpIndex();
+                    break;
+                case CodeScanner.KIND_CONSTANT:
+                    operands[i] = cursor.cpIndex();
+                    if (opcode == OpcodeConst.MULTIANEWARRAY) {
+                        extras[i] = cursor.dimensions();
+                    }
+                    break;
+                case CodeScanner.KIND_LOCAL:
+                    operands[i] = cursor.localIndex();
+                    if (opcode == OpcodeConst.IINC) {
+                        extras[i] = cursor.intValue();
+                    }
+                    break;
+                default:
+                    if (opcode == OpcodeConst.BIPUSH || opcode == OpcodeConst.SIPUSH) {
+                        operands[i] = cursor.intValue();
+                    }
+                    else if (opcode == OpcodeConst.NEWARRAY) {
+                        operands[i] = cursor.arrayType();
+                    }
+            }
+        }
+        positions[count] = code_length;
+
+        // 第二遍，只处理switch
+        this.switch_data = new int[switch_length];
+        if (switch_length > 0) {
+            int offset = 0;
+            cursor.reset();
+            for (int i = 0; cursor.next(); i++) {
+                if (!cursor.isSwitch()) continue;
+                int pos = cursor.pos();
+                int n = cursor.switchCount();
+                operands[i] = offset;
+                switch_data[offset++] = pos + cursor.switchDefault();
+                switch_data[offset++] = n;
+                for (int k = 0; k < n; k++) {
+                    switch_data[offset++] = cursor.switchMatch(k);
+                    switch_data[offset++] = pos + cursor.switchOffset(k);
+                }
+            }
+        }
+    }
+
+    // region lookup
+    /**
+     * @return pc处的指令的序号；如果pc不是一条指令的起始位置，返回-1
+     */
+    public int indexOf(int pc) {
+        if (pc == code_length) return count;
+        if (pc < 0 || pc > code_length) return -1;
+        return index_of_pc[pc];
+    }
+
+    /**
+     * 跳转指令的目标指令的序号
+     */
+    public int getTargetIndex(int i) {
+        if (CodeScanner.getKind(opcodes[i]) != CodeScanner.KIND_BRANCH) {
+            throw new RuntimeException("Opcode " + OpcodeConst.getOpcodeName(opcodes[i]) + " at " + positions[i] + " is not a branch");
+        }
+        return indexOf(operands[i]);
+    }
+
+    /**
+     * exception table中[start_pc, end_pc)对应的指令范围
+     *
+     * @return {第一条指令的序号, 最后一条指令的序号 + 1}
+     */
+    public int[] getRange(int start_pc, int end_pc) {
+        int from = indexOf(start_pc);
+        int to = indexOf(end_pc);
+        if (from < 0 || to < 0) {
+            throw new RuntimeException("Invalid code range: [" + start_pc + ", " + end_pc + ")");
+        }
+        return new int[]{from, to};
+    }
+    // endregion
+
+    // region instruction
+    public int getPos(int i) {
+        return positions[i];
+    }
+
+    public int getOpcode(int i) {
+        return opcodes[i];
+    }
+
+    public int getLength(int i) {
+        return positions[i + 1] - positions[i];
+    }
+
+    public boolean isWide(int i) {
+        return (code[positions[i]] & 0xFF) == OpcodeConst.WIDE;
+    }
+
+    public int getOperand(int i) {
+        return operands[i];
+    }
+
+    public int getExtra(int i) {
+        return extras[i];
+    }
+    // endregion
+
+    // region tableswitch and lookupswitch
+    public int getSwitchDefault(int i) {
+        return switch_data[switchOffset(i)];
+    }
+
+    public int getSwitchCount(int i) {
+        return switch_data[switchOffset(i) + 1];
+    }
+
+    public int getSwitchMatch(int i, int k) {
+        return switch_data[switchOffset(i) + 2 + 2 * k];
+    }
+
+    /**
+     * 第k个case的跳转目标的pc
+     */
+    public int getSwitchTarget(int i, int k) {
+        return switch_data[switchOffset(i) + 3 + 2 * k];
+    }
+
+    private int switchOffset(int i) {
+        if (CodeScanner.getKind(opcodes[i]) != CodeScanner.KIND_SWITCH) {
+            throw new RuntimeException("Opcode " + OpcodeConst.getOpcodeName(opcodes[i]) + " at " + positions[i] + " is not a switch");
+        }
+        return operands[i];
+    }
+    // endregion
+}
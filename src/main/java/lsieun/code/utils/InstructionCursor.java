@@ -0,0 +1,276 @@
+package lsieun.code.utils;
+
+import lsieun.cst.OpcodeConst;
+import lsieun.utils.ByteUtils;
+
+/**
+ * <p>
+ *     在<code>Code.code</code>上直接移动的“游标”：不创建Instruction对象，每次{@link #next()}之后，
+ *     通过{@link #opcode()}、{@link #pos()}、{@link #length()}以及各种operand方法读取当前指令。
+ * </p>
+ * <pre>
+ * InstructionCursor cursor = new InstructionCursor(code.code);
+ * while (cursor.next()) {
+ *     if (cursor.opcode() == OpcodeConst.INVOKEVIRTUAL) {
+ *         String method = cp.resolve(cursor.cpIndex());
+ *     }
+ * }
+ * </pre>
+ * <p>
+ *     与OpcodeReadVisitor不同，<code>wide</code>不作为单独的指令：
+ *     <code>wide iload</code>作为一条ILOAD指令，{@link #isWide()}为true，{@link #pos()}是wide的位置，
+ *     {@link #length()}包括wide。指令的长度见{@link CodeScanner#length(byte[], int, int)}。
+ * </p>
+ */
+public class InstructionCursor {
+    private final byte[] code;
+    private final int start;
+    private final int end;
+
+    // 当前指令
+    private int pos;
+    private int opcode;
+    private int length;
+    private boolean wide;
+
+    public InstructionCursor(byte[] code) {
+        this(code, 0, code.length);
+    }
+
+    /**
+     * code从<code>bytes[offset]</code>开始，tableswitch和lookupswitch的padding是相对于offset计算的
+     */
+    public InstructionCursor(byte[] bytes, int offset, int length) {
+        this.code = bytes;
+        this.start = offset;
+        this.end = offset + length;
+        reset();
+    }
+
+    public void reset() {
+        this.pos = start;
+        this.opcode = -1;
+        this.length = 0;
+        this.wide = false;
+    }
+
+    /**
+     * 移动到下一条指令
+     *
+     * @return 如果已经没有指令了，返回false
+     */
+    public boolean next() {
+        int p = pos + length;
+        if (p >= end) {
+            pos = end;
+            length = 0;
+            opcode = -1;
+            return false;
+        }
+
+        pos = p;
+        opcode = code[p] & 0xFF;
+        length = CodeScanner.length(code, start, p);
+        wide = (opcode == OpcodeConst.WIDE);
+        if (wide) {
+            opcode = code[p + 1] & 0xFF;
+        }
+        return true;
+    }
+
+    // region current instruction
+    public int opcode() {
+        return opcode;
+    }
+
+    /**
+     * 当前指令相对于code起始位置的偏移量
+     */
+    public int pos() {
+        return pos - start;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isWide() {
+        return wide;
+    }
+
+    public String getOpcodeName() {
+        return OpcodeConst.getOpcodeName(opcode);
+    }
+    // endregion
+
+    // region operand
+    /**
+     * LDC、LDC_W、LDC2_W、GETSTATIC...INVOKEDYNAMIC、NEW、ANEWARRAY、CHECKCAST、INSTANCEOF、MULTIANEWARRAY的constant pool index
+     */
+    public int cpIndex() {
+        switch (opcode) {
+            case OpcodeConst.LDC:
+                return code[pos + 1] & 0xFF;
+            case OpcodeConst.LDC_W:
+            case OpcodeConst.LDC2_W:
+            case OpcodeConst.GETSTATIC:
+            case OpcodeConst.PUTSTATIC:
+            case OpcodeConst.GETFIELD:
+            case OpcodeConst.PUTFIELD:
+            case OpcodeConst.INVOKEVIRTUAL:
+            case OpcodeConst.INVOKESPECIAL:
+            case OpcodeConst.INVOKESTATIC:
+            case OpcodeConst.INVOKEINTERFACE:
+            case OpcodeConst.INVOKEDYNAMIC:
+            case OpcodeConst.NEW:
+            case OpcodeConst.ANEWARRAY:
+            case OpcodeConst.CHECKCAST:
+            case OpcodeConst.INSTANCEOF:
+            case OpcodeConst.MULTIANEWARRAY:
+                return ByteUtils.readUnsignedShort(code, pos + 1);
+            default:
+                throw unexpected("cpIndex");
+        }
+    }
+
+    /**
+     * xLOAD、xSTORE、RET、IINC的local variable index；xLOAD_n、xSTORE_n返回n
+     */
+    public int localIndex() {
+        if (opcode >= OpcodeConst.ILOAD_0 && opcode <= OpcodeConst.ALOAD_3) {
+            return (opcode - OpcodeConst.ILOAD_0) & 3;
+        }
+        if (opcode >= OpcodeConst.ISTORE_0 && opcode <= OpcodeConst.ASTORE_3) {
+            return (opcode - OpcodeConst.ISTORE_0) & 3;
+        }
+        switch (opcode) {
+            case OpcodeConst.ILOAD:
+            case OpcodeConst.LLOAD:
+            case OpcodeConst.FLOAD:
+            case OpcodeConst.DLOAD:
+            case OpcodeConst.ALOAD:
+            case OpcodeConst.ISTORE:
+            case OpcodeConst.LSTORE:
+            case OpcodeConst.FSTORE:
+            case OpcodeConst.DSTORE:
+            case OpcodeConst.ASTORE:
+            case OpcodeConst.RET:
+            case OpcodeConst.IINC:
+                return wide ? ByteUtils.readUnsignedShort(code, pos + 2) : code[pos + 1] & 0xFF;
+            default:
+                throw unexpected("localIndex");
+        }
+    }
+
+    /**
+     * BIPUSH、SIPUSH的值，IINC的增量
+     */
+    public int intValue() {
+        switch (opcode) {
+            case OpcodeConst.BIPUSH:
+                return code[pos + 1];
+            case OpcodeConst.SIPUSH:
+                return ByteUtils.readShort(code, pos + 1);
+            case OpcodeConst.IINC:
+                return wide ? ByteUtils.readShort(code, pos + 4) : code[pos + 2];
+            default:
+                throw unexpected("intValue");
+        }
+    }
+
+    /**
+     * NEWARRAY的atype
+     */
+    public int arrayType() {
+        if (opcode != OpcodeConst.NEWARRAY) throw unexpected("arrayType");
+        return code[pos + 1] & 0xFF;
+    }
+
+    /**
+     * MULTIANEWARRAY的dimensions
+     */
+    public int dimensions() {
+        if (opcode != OpcodeConst.MULTIANEWARRAY) throw unexpected("dimensions");
+        return code[pos + 3] & 0xFF;
+    }
+
+    /**
+     * IFxx、GOTO、JSR、GOTO_W、JSR_W的跳转偏移量（相对于当前指令）
+     */
+    public int branchOffset() {
+        if ((opcode >= OpcodeConst.IFEQ && opcode <= OpcodeConst.JSR)
+                || opcode == OpcodeConst.IFNULL || opcode == OpcodeConst.IFNONNULL) {
+            return ByteUtils.readShort(code, pos + 1);
+        }
+        if (opcode == OpcodeConst.GOTO_W || opcode == OpcodeConst.JSR_W) {
+            return ByteUtils.readInt(code, pos + 1);
+        }
+        throw unexpected("branchOffset");
+    }
+
+    public boolean isBranch() {
+        return (opcode >= OpcodeConst.IFEQ && opcode <= OpcodeConst.JSR)
+                || (opcode >= OpcodeConst.IFNULL && opcode <= OpcodeConst.JSR_W);
+    }
+
+    /**
+     * 跳转目标相对于code起始位置的偏移量
+     */
+    public int branchTarget() {
+        return pos() + branchOffset();
+    }
+    // endregion
+
+    // region tableswitch and lookupswitch
+    public boolean isSwitch() {
+        return opcode == OpcodeConst.TABLESWITCH || opcode == OpcodeConst.LOOKUPSWITCH;
+    }
+
+    public int switchDefault() {
+        checkSwitch();
+        return ByteUtils.readInt(code, operandBase());
+    }
+
+    /**
+     * case的数量：tableswitch是high - low + 1，lookupswitch是npairs
+     */
+    public int switchCount() {
+        checkSwitch();
+        int base = operandBase();
+        if (opcode == OpcodeConst.TABLESWITCH) {
+            return ByteUtils.readInt(code, base + 8) - ByteUtils.readInt(code, base + 4) + 1;
+        }
+        return ByteUtils.readInt(code, base + 4);
+    }
+
+    public int switchMatch(int i) {
+        checkSwitch();
+        int base = operandBase();
+        if (opcode == OpcodeConst.TABLESWITCH) {
+            return ByteUtils.readInt(code, base + 4) + i;
+        }
+        return ByteUtils.readInt(code, base + 8 + i * 8);
+    }
+
+    public int switchOffset(int i) {
+        checkSwitch();
+        int base = operandBase();
+        if (opcode == OpcodeConst.TABLESWITCH) {
+            return ByteUtils.readInt(code, base + 12 + i * 4);
+        }
+        return ByteUtils.readInt(code, base + 12 + i * 8);
+    }
+
+    private int operandBase() {
+        return CodeScanner.switchBase(start, pos);
+    }
+
+    private void checkSwitch() {
+        if (!isSwitch()) throw unexpected("switch");
+    }
+    // endregion
+
+    private RuntimeException unexpected(String operand) {
+        return new RuntimeException("Opcode " + getOpcodeName() + " at " + pos() + " has no " + operand);
+    }
+}
@@ -0,0 +1,345 @@
+package lsieun.code.utils;
+
+import lsieun.classfile.ClassFile;
+import lsieun.classfile.ClassFiles;
+import lsieun.classfile.ConstantPool;
+import lsieun.classfile.MethodInfo;
+import lsieun.classfile.attrs.AttributeInfo;
+import lsieun.classfile.attrs.Code;
+import lsieun.cst.CPConst;
+import lsieun.cst.OpcodeConst;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ *     统计大量.class文件中的指令：opcode的频率、连续两条（bigram）和三条（trigram）指令的频率、
+ *     每个方法的指令数量，以及constant pool中各种tag的数量。
+ * </p>
+ * <p>
+ *     所有的计数器都是<code>long[]</code>，每个OpcodeStatistics对象只在一个线程中使用；
+ *     并行时每个线程使用自己的OpcodeStatistics，最后使用{@link #merge(OpcodeStatistics)}合并，不需要加锁或者原子操作。
+ * </p>
+ * <pre>
+ * OpcodeStatistics stats = OpcodeStatistics.collect(ClassFiles.stream(paths, true));
+ * stats.print(System.out, 20);
+ * </pre>
+ * <p>
+ *     与{@link InstructionCursor}相同，wide和后面的指令算作一条。
+ * </p>
+ */
+public class OpcodeStatistics {
+    // 每个方法的指令数量：第k个bucket是[2^k, 2^(k+1))，方法最多有65535个字节
+    public static final int SIZE_BUCKETS = 17;
+
+    public final long[] opcode_counts = new long[256];
+    // (first << 8) | second
+    public final long[] bigram_counts = new long[256 * 256];
+    // (first << 16) | (second << 8) | third，只记录出现过的trigram
+    private final Counter trigram_counts = new Counter();
+    public final long[] tag_counts = new long[32];
+    public final long[] method_size_buckets = new long[SIZE_BUCKETS];
+
+    public long class_count;
+    public long method_count;
+    public long instruction_count;
+    public long max_method_instructions;
+
+    // region collect
+    /**
+     * 读取目录和jar文件中所有的.class文件，并行地统计
+     */
+    public static OpcodeStatistics collect(List<Path> roots) {
+        try (Stream<ClassFile> stream = ClassFiles.stream(roots, true)) {
+            return collect(stream);
+        }
+    }
+
+    public static OpcodeStatistics collect(Stream<ClassFile> stream) {
+        return stream.parallel().collect(OpcodeStatistics::new, OpcodeStatistics::add, OpcodeStatistics::merge);
+    }
+
+    public void add(ClassFile classFile) {
+        class_count++;
+
+        ConstantPool cp = classFile.constant_pool;
+        for (int i = 1; i < cp.count; i++) {
+            byte tag = cp.getTag(i);
+            // Long和Double的第二个位置为0
+            if (tag != 0) {
+                tag_counts[tag]++;
+            }
+        }
+
+        for (int i = 0; i < classFile.methods.methods_count; i++) {
+            MethodInfo methodInfo = classFile.methods.get(i);
+            AttributeInfo attr = methodInfo.attributes.find("Code");
+            if (attr instanceof Code) {
+                add(((Code) attr).code);
+            }
+        }
+    }
+
+    /**
+     * 统计一个方法的指令
+     */
+    public void add(byte[] code) {
+        long count = 0;
+        int first = -1;
+        int second = -1;
+
+        InstructionCursor cursor = new InstructionCursor(code);
+        while (cursor.next()) {
+            int opcode = cursor.opcode();
+            opcode_counts[opcode]++;
+            if (second >= 0) {
+                bigram_counts[(second << 8) | opcode]++;
+                if (first >= 0) {
+                    trigram_counts.increment((first << 16) | (second << 8) | opcode, 1);
+                }
+            }
+            first = second;
+            second = opcode;
+            count++;
+        }
+
+        method_count++;
+        instruction_count += count;
+        if (count > max_method_instructions) {
+            max_method_instructions = count;
+        }
+        if (count > 0) {
+            method_size_buckets[Math.min(SIZE_BUCKETS - 1, 63 - Long.numberOfLeadingZeros(count))]++;
+        }
+    }
+
+    public OpcodeStatistics merge(OpcodeStatistics other) {
+        add(opcode_counts, other.opcode_counts);
+        add(bigram_counts, other.bigram_counts);
+        add(tag_counts, other.tag_counts);
+        add(method_size_buckets, other.method_size_buckets);
+        other.trigram_counts.forEach(trigram_counts::increment);
+
+        class_count += other.class_count;
+        method_count += other.method_count;
+        instruction_count += other.instruction_count;
+        max_method_instructions = Math.max(max_method_instructions, other.max_method_instructions);
+        return this;
+    }
+
+    private static void add(long[] to, long[] from) {
+        for (int i = 0; i < to.length; i++) {
+            to[i] += from[i];
+        }
+    }
+    // endregion
+
+    // region query
+    public long getOpcodeCount(int opcode) {
+        return opcode_counts[opcode];
+    }
+
+    public long getBigramCount(int first, int second) {
+        return bigram_counts[(first << 8) | second];
+    }
+
+    public long getTrigramCount(int first, int second, int third) {
+        return trigram_counts.get((first << 16) | (second << 8) | third);
+    }
+
+    public long getTagCount(byte tag) {
+        return tag_counts[tag];
+    }
+
+    /**
+     * 出现次数最多的n个opcode、bigram或者trigram
+     *
+     * @param length 1为opcode，2为bigram，3为trigram
+     * @return 每一项为{key, count}；key的格式与bigram_counts、trigram_counts相同
+     */
+    public List<long[]> getTop(int length, int n) {
+        final TopN top = new TopN(n);
+        switch (length) {
+            case 1:
+                for (int i = 0; i < opcode_counts.length; i++) {
+                    top.offer(i, opcode_counts[i]);
+                }
+                break;
+            case 2:
+                for (int i = 0; i < bigram_counts.length; i++) {
+                    top.offer(i, bigram_counts[i]);
+                }
+                break;
+            case 3:
+                trigram_counts.forEach(top::offer);
+                break;
+            default:
+                throw new RuntimeException("Unsupported n-gram length: " + length);
+        }
+        return top.toList();
+    }
+
+    /**
+     * 例如，<code>toString(0x2A_B4, 2)</code>为<code>aload_0 getfield</code>
+     */
+    public static String toString(long key, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = length - 1; i >= 0; i--) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(OpcodeConst.getOpcodeName((int) (key >>> (8 * i)) & 0xFF));
+        }
+        return sb.toString();
+    }
+
+    public void print(PrintStream out, int n) {
+        out.println("classes: " + class_count);
+        out.println("methods: " + method_count);
+        out.println("instructions: " + instruction_count);
+        out.println("max instructions per method: " + max_method_instructions);
+
+        String[] titles = {"opcode", "bigram", "trigram"};
+        for (int length = 1; length <= 3; length++) {
+            out.println();
+            out.println("top " + n + " " + titles[length - 1] + ":");
+            for (long[] item : getTop(length, n)) {
+                out.printf("%12d  %5.2f%%  %s%n", item[1], percent(item[1], instruction_count), toString(item[0], length));
+            }
+        }
+
+        out.println();
+        out.println("instructions per method:");
+        for (int k = 0; k < SIZE_BUCKETS; k++) {
+            if (method_size_buckets[k] == 0) continue;
+            out.printf("%12d  %5.2f%%  [%d, %d)%n", method_size_buckets[k], percent(method_size_buckets[k], method_count), 1 << k, 1 << (k + 1));
+        }
+
+        long total_tags = 0;
+        for (long count : tag_counts) {
+            total_tags += count;
+        }
+        out.println();
+        out.println("constant pool tags:");
+        for (int tag = 0; tag < tag_counts.length; tag++) {
+            if (tag_counts[tag] == 0) continue;
+            out.printf("%12d  %5.2f%%  %s%n", tag_counts[tag], percent(tag_counts[tag], total_tags), CPConst.getConstantName((byte) tag));
+        }
+    }
+
+    private static double percent(long count, long total) {
+        return total == 0 ? 0.0 : count * 100.0 / total;
+    }
+    // endregion
+
+    private interface CounterConsumer {
+        void accept(int key, long count);
+    }
+
+    /**
+     * int --> long的计数器，使用open addressing，不创建Integer、Long对象
+     */
+    private static final class Counter {
+        // key + 1，0表示空
+        private int[] keys = new int[1024];
+        private long[] counts = new long[1024];
+        private int size;
+
+        void increment(int key, long delta) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (true) {
+                int k = keys[slot];
+                if (k == 0) {
+                    keys[slot] = key + 1;
+                    counts[slot] = delta;
+                    if (++size * 2 > keys.length) {
+                        resize();
+                    }
+                    return;
+                }
+                if (k == key + 1) {
+                    counts[slot] += delta;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        long get(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            int k;
+            while ((k = keys[slot]) != 0) {
+                if (k == key + 1) return counts[slot];
+                slot = (slot + 1) & mask;
+            }
+            return 0;
+        }
+
+        void forEach(CounterConsumer consumer) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    consumer.accept(keys[i] - 1, counts[i]);
+                }
+            }
+        }
+
+        private void resize() {
+            int[] old_keys = keys;
+            long[] old_counts = counts;
+            keys = new int[old_keys.length * 2];
+            counts = new long[old_counts.length * 2];
+            size = 0;
+            for (int i = 0; i < old_keys.length; i++) {
+                if (old_keys[i] != 0) {
+                    increment(old_keys[i] - 1, old_counts[i]);
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * 保留count最大的n项
+     */
+    private static final class TopN {
+        private final long[] keys;
+        private final long[] counts;
+        private int size;
+
+        TopN(int n) {
+            this.keys = new long[n];
+            this.counts = new long[n];
+        }
+
+        void offer(long key, long count) {
+            if (count == 0 || keys.length == 0) return;
+            if (size == keys.length && count <= counts[size - 1]) return;
+
+            // 插入排序，counts从大到小
+            int i = size < keys.length ? size++ : size - 1;
+            while (i > 0 && counts[i - 1] < count) {
+                keys[i] = keys[i - 1];
+                counts[i] = counts[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            counts[i] = count;
+        }
+
+        List<long[]> toList() {
+            List<long[]> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(new long[]{keys[i], counts[i]});
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package lsieun.code.utils;
+
+import lsieun.code.type.ArrayType;
+import lsieun.code.type.Type;
+import lsieun.cst.TypeConst;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ *     解析descriptor和signature。原来的{@link Utility}和{@link TypeUtils}使用ThreadLocal记录“已经读取了多少个字符”（consumed_chars），
+ *     每次读写都需要ThreadLocal的get/set，并且创建Integer对象；现在这个值是SignatureParser对象的字段。
+ * </p>
+ * <p>
+ *     SignatureParser对象不是线程安全的，但是创建的代价很小，每次使用时创建一个即可；
+ *     {@link Utility#signatureToString(String, boolean)}、{@link TypeUtils#getType(String)}等方法就是这样做的。
+ * </p>
+ */
+public final class SignatureParser {
+
+    /**
+     * How many chars have been consumed
+     * during parsing in signatureToString() and getType().
+     */
+    private int consumed_chars;
+
+    public int getConsumedChars() {
+        return consumed_chars;
+    }
+
+    /**
+     * The c_field signature represents the value of an argument to a function or
+     * the value of a variable. It is a series of bytes generated by the
+     * following grammar:
+     *
+     * <PRE>
+     * &lt;field_signature&gt; ::= &lt;field_type&gt;
+     * &lt;field_type&gt;      ::= &lt;base_type&gt;|&lt;object_type&gt;|&lt;array_type&gt;
+     * &lt;base_type&gt;       ::= B|C|D|F|I|J|S|Z
+     * &lt;object_type&gt;     ::= L&lt;fullclassname&gt;;
+     * &lt;array_type&gt;      ::= [&lt;field_type&gt;
+     * <p>
+     * The meaning of the base types is as follows:
+     * B byte signed byte
+     * C char character
+     * D double double precision IEEE float
+     * F float single precision IEEE float
+     * I int integer
+     * J long long integer
+     * L&lt;fullclassname&gt;; ... an object of the given class
+     * S short signed short
+     * Z boolean true or false
+     * [&lt;c_field sig&gt; ... array
+     * </PRE>
+     * <p>
+     * This d_method converts this string into a Java type declaration such as
+     * `String[]' and throws a `RuntimeException' when the parsed type is
+     * invalid.
+     *
+     * @param signature Class signature
+     * @param chopit    Flag that determines whether chopping is executed or not
+     * @return Java type declaration
+     */
+    public String signatureToString(final String signature, final boolean chopit) {
+        this.consumed_chars = 1; // This is the default, read just one char like `B'
+        try {
+            switch (signature.charAt(0)) {
+                case 'S':
+                    return "short";
+                case 'Z':
+                    return "boolean";
+                case 'B':
+                    return "byte";
+                case 'C':
+                    return "char";
+                case 'D':
+                    return "double";
+                case 'F':
+                    return "float";
+                case 'I':
+                    return "int";
+                case 'J':
+                    return "long";
+                case 'V':
+                    return "void";
+                case 'L': { // Full class name
+                    // should this be a while loop? can there be more than
+                    // one generic clause?  (markro)
+                    int fromIndex = signature.indexOf('<'); // generic type?
+                    if (fromIndex < 0) {
+                        fromIndex = 0;
+                    } else {
+                        fromIndex = signature.indexOf('>', fromIndex);
+                        if (fromIndex < 0) {
+                            throw new RuntimeException("Invalid signature: " + signature);
+                        }
+                    }
+                    final int index = signature.indexOf(';', fromIndex); // Look for closing `;'
+                    if (index < 0) {
+                        throw new RuntimeException("Invalid signature: " + signature);
+                    }
+
+                    // check to see if there are any TypeArguments
+                    final int bracketIndex = signature.substring(0, index).indexOf('<');
+                    if (bracketIndex < 0) {
+                        // just a class identifier
+                        this.consumed_chars = index + 1; // "Lblabla;" `L' and `;' are removed
+                        return Utility.compactClassName(signature.substring(1, index), chopit);
+                    }
+                    // but make sure we are not looking past the end of the current item
+                    fromIndex = signature.indexOf(';');
+                    if (fromIndex < 0) {
+                        throw new RuntimeException("Invalid signature: " + signature);
+                    }
+                    if (fromIndex < bracketIndex) {
+                        // just a class identifier
+                        this.consumed_chars = fromIndex + 1; // "Lblabla;" `L' and `;' are removed
+                        return Utility.compactClassName(signature.substring(1, fromIndex), chopit);
+                    }
+
+                    // we have TypeArguments; build up partial result
+                    // as we recurse for each TypeArgument
+                    final StringBuilder type = new StringBuilder(Utility.compactClassName(signature.substring(1, bracketIndex), chopit)).append("<");
+                    int consumed_chars = bracketIndex + 1; // Shadows global var
+
+                    // check for wildcards
+                    if (signature.charAt(consumed_chars) == '+') {
+                        type.append("? extends ");
+                        consumed_chars++;
+                    } else if (signature.charAt(consumed_chars) == '-') {
+                        type.append("? super ");
+                        consumed_chars++;
+                    }
+
+                    // get the first TypeArgument
+                    if (signature.charAt(consumed_chars) == '*') {
+                        type.append("?");
+                        consumed_chars++;
+                    } else {
+                        type.append(signatureToString(signature.substring(consumed_chars), chopit));
+                        // update our consumed count by the number of characters the for type argument
+                        consumed_chars = this.consumed_chars + consumed_chars;
+                        this.consumed_chars = consumed_chars;
+                    }
+
+                    // are there more TypeArguments?
+                    while (signature.charAt(consumed_chars) != '>') {
+                        type.append(", ");
+                        // check for wildcards
+                        if (signature.charAt(consumed_chars) == '+') {
+                            type.append("? extends ");
+                            consumed_chars++;
+                        } else if (signature.charAt(consumed_chars) == '-') {
+                            type.append("? super ");
+                            consumed_chars++;
+                        }
+                        if (signature.charAt(consumed_chars) == '*') {
+                            type.append("?");
+                            consumed_chars++;
+                        } else {
+                            type.append(signatureToString(signature.substring(consumed_chars), chopit));
+                            // update our consumed count by the number of characters the for type argument
+                            consumed_chars = this.consumed_chars + consumed_chars;
+                            this.consumed_chars = consumed_chars;
+                        }
+                    }
+
+                    // process the closing ">"
+                    consumed_chars++;
+                    type.append(">");
+
+                    if (signature.charAt(consumed_chars) == '.') {
+                        // we have a ClassTypeSignatureSuffix
+                        type.append(".");
+                        // convert SimpleClassTypeSignature to fake ClassTypeSignature
+                        // and then recurse to parse it
+                        type.append(signatureToString("L" + signature.substring(consumed_chars + 1), chopit));
+                        // update our consumed count by the number of characters the for type argument
+                        // note that this count includes the "L" we added, but that is ok
+                        // as it accounts for the "." we didn't consume
+                        consumed_chars = this.consumed_chars + consumed_chars;
+                        this.consumed_chars = consumed_chars;
+                        return type.toString();
+                    }
+                    if (signature.charAt(consumed_chars) != ';') {
+                        throw new RuntimeException("Invalid signature: " + signature);
+                    }
+                    this.consumed_chars = consumed_chars + 1; // remove final ";"
+                    return type.toString();
+                }
+
+                case '[': { // Array declaration
+                    int n;
+                    StringBuilder brackets;
+                    String type;
+                    int consumed_chars; // Shadows global var
+                    brackets = new StringBuilder(); // Accumulate []'s
+                    // Count opening brackets and look for optional size argument
+                    for (n = 0; signature.charAt(n) == '['; n++) {
+                        brackets.append("[]");
+                    }
+                    consumed_chars = n; // Remember value
+                    // The rest of the string denotes a `<field_type>'
+                    type = signatureToString(signature.substring(n), chopit);
+                    this.consumed_chars += consumed_chars;
+                    return type + brackets.toString();
+                }
+                default:
+                    throw new RuntimeException("Invalid signature: `" + signature + "'");
+            }
+        } catch (final StringIndexOutOfBoundsException e) { // Should never occur
+            throw new RuntimeException("Invalid signature: " + signature, e);
+        }
+    }
+
+    /**
+     * Convert signature to a Type object.
+     *
+     * @param signature signature string such as Ljava/lang/String;
+     * @return type object
+     */
+    public Type getType(final String signature) throws StringIndexOutOfBoundsException {
+        final byte type = Utility.typeOfSignature(signature);
+        if (type <= TypeConst.T_VOID) {
+            this.consumed_chars = 1;
+            return TypeUtils.getType(type);
+        } else if (type == TypeConst.T_ARRAY) {
+            int dim = 0;
+            do { // Count dimensions
+                dim++;
+            } while (signature.charAt(dim) == '[');
+            // Recurse, but just once, if the signature is ok
+            final Type t = getType(signature.substring(dim));
+            this.consumed_chars += dim; // update counter
+            return new ArrayType(t, dim);
+        } else { // type == T_REFERENCE
+            // signatureToString understands how to parse
+            // generic types.
+            final String parsedSignature = signatureToString(signature, false);
+            this.consumed_chars = parsedSignature.length() + 2; // "Lblabla;" `L' and `;' are removed
+            return TypeUtils.getInstance(parsedSignature.replace('/', '.'));
+        }
+    }
+
+    /**
+     * Convert arguments of a d_method (signature) to an array of Type objects.
+     *
+     * @param signature signature string such as (Ljava/lang/String;)V
+     * @return array of argument types
+     */
+    public Type[] getArgumentTypes(final String signature) {
+        final List<Type> vec = new ArrayList<>();
+        int index;
+        try { // Read all declarations between for `(' and `)'
+            if (signature.charAt(0) != '(') {
+                throw new RuntimeException("Invalid d_method signature: " + signature);
+            }
+            index = 1; // current string position
+            while (signature.charAt(index) != ')') {
+                vec.add(getType(signature.substring(index)));
+                index += this.consumed_chars; // update position
+            }
+        } catch (final StringIndexOutOfBoundsException e) { // Should never occur
+            throw new RuntimeException("Invalid d_method signature: " + signature, e);
+        }
+        return vec.toArray(new Type[0]);
+    }
+}
@@ -1,32 +1,10 @@
 package lsieun.code.utils;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import lsieun.cst.TypeConst;
 import lsieun.code.type.*;
 
 public class TypeUtils {
 
-    private static final ThreadLocal<Integer> consumed_chars = new ThreadLocal<Integer>() {
-
-        @Override
-        protected Integer initialValue() {
-            return Integer.valueOf(0);
-        }
-    };//int consumed_chars=0; // Remember position in string, see getArgumentTypes
-
-    // region private static
-    private static int unwrap(final ThreadLocal<Integer> tl) {
-        return tl.get().intValue();
-    }
-
-
-    private static void wrap(final ThreadLocal<Integer> tl, final int value) {
-        tl.set(Integer.valueOf(value));
-    }
-    // endregion
-
     /**
      * Predefined constants
      */
@@ -115,30 +93,7 @@ public class TypeUtils {
      * @return type object
      */
     public static Type getType(final String signature) throws StringIndexOutOfBoundsException {
-        final byte type = Utility.typeOfSignature(signature);
-        if (type <= TypeConst.T_VOID) {
-            //corrected concurrent private static c_field acess
-            wrap(consumed_chars, 1);
-            return getType(type);
-        } else if (type == TypeConst.T_ARRAY) {
-            int dim = 0;
-            do { // Count dimensions
-                dim++;
-            } while (signature.charAt(dim) == '[');
-            // Recurse, but just once, if the signature is ok
-            final Type t = getType(signature.substring(dim));
-            //corrected concurrent private static c_field acess
-            //  consumed_chars += dim; // update counter - is replaced by
-            final int _temp = unwrap(consumed_chars) + dim;
-            wrap(consumed_chars, _temp);
-            return new ArrayType(t, dim);
-        } else { // type == T_REFERENCE
-            // Utility.signatureToString understands how to parse
-            // generic types.
-            final String parsedSignature = Utility.signatureToString(signature, false);
-            wrap(consumed_chars, parsedSignature.length() + 2); // "Lblabla;" `L' and `;' are removed
-            return TypeUtils.getInstance(parsedSignature.replace('/', '.'));
-        }
+        return new SignatureParser().getType(signature);
     }
 
     /**
@@ -164,25 +119,7 @@ public class TypeUtils {
      * @return array of argument types
      */
     public static Type[] getArgumentTypes(final String signature) {
-        final List<Type> vec = new ArrayList<>();
-        int index;
-        Type[] types;
-        try { // Read all declarations between for `(' and `)'
-            if (signature.charAt(0) != '(') {
-                throw new RuntimeException("Invalid d_method signature: " + signature);
-            }
-            index = 1; // current string position
-            while (signature.charAt(index) != ')') {
-                vec.add(getType(signature.substring(index)));
-                //corrected concurrent private static c_field acess
-                index += unwrap(consumed_chars); // update position
-            }
-        } catch (final StringIndexOutOfBoundsException e) { // Should never occur
-            throw new RuntimeException("Invalid d_method signature: " + signature, e);
-        }
-        types = new Type[vec.size()];
-        vec.toArray(types);
-        return types;
+        return new SignatureParser().getArgumentTypes(signature);
     }
 
     // endregion
@@ -7,28 +7,6 @@ import lsieun.cst.TypeConst;
  */
 public class Utility {
 
-    /**
-     * How many chars have been consumed
-     * during parsing in signatureToString().
-     * Read by methodSignatureToString().
-     * Set by side effect,but only internally.
-     */
-    private static ThreadLocal<Integer> consumed_chars = new ThreadLocal<Integer>() {
-        @Override
-        protected Integer initialValue() {
-            return Integer.valueOf(0);
-        }
-    };
-
-    private static int unwrap(final ThreadLocal<Integer> tl) {
-        return tl.get().intValue();
-    }
-
-
-    private static void wrap(final ThreadLocal<Integer> tl, final int value) {
-        tl.set(Integer.valueOf(value));
-    }
-
     /**
      * Return type of signature as a byte value as defined in <em>Constants</em>
      *
@@ -103,159 +81,7 @@ public class Utility {
      * @return Java type declaration
      */
     public static String signatureToString(final String signature, final boolean chopit) {
-        //corrected concurrent private static c_field acess
-        wrap(consumed_chars, 1); // This is the default, read just one char like `B'
-        try {
-            switch (signature.charAt(0)) {
-                case 'S':
-                    return "short";
-                case 'Z':
-                    return "boolean";
-                case 'B':
-                    return "byte";
-                case 'C':
-                    return "char";
-                case 'D':
-                    return "double";
-                case 'F':
-                    return "float";
-                case 'I':
-                    return "int";
-                case 'J':
-                    return "long";
-                case 'V':
-                    return "void";
-                case 'L': { // Full class name
-                    // should this be a while loop? can there be more than
-                    // one generic clause?  (markro)
-                    int fromIndex = signature.indexOf('<'); // generic type?
-                    if (fromIndex < 0) {
-                        fromIndex = 0;
-                    } else {
-                        fromIndex = signature.indexOf('>', fromIndex);
-                        if (fromIndex < 0) {
-                            throw new RuntimeException("Invalid signature: " + signature);
-                        }
-                    }
-                    final int index = signature.indexOf(';', fromIndex); // Look for closing `;'
-                    if (index < 0) {
-                        throw new RuntimeException("Invalid signature: " + signature);
-                    }
-
-                    // check to see if there are any TypeArguments
-                    final int bracketIndex = signature.substring(0, index).indexOf('<');
-                    if (bracketIndex < 0) {
-                        // just a class identifier
-                        wrap(consumed_chars, index + 1); // "Lblabla;" `L' and `;' are removed
-                        return compactClassName(signature.substring(1, index), chopit);
-                    }
-                    // but make sure we are not looking past the end of the current item
-                    fromIndex = signature.indexOf(';');
-                    if (fromIndex < 0) {
-                        throw new RuntimeException("Invalid signature: " + signature);
-                    }
-                    if (fromIndex < bracketIndex) {
-                        // just a class identifier
-                        wrap(consumed_chars, fromIndex + 1); // "Lblabla;" `L' and `;' are removed
-                        return compactClassName(signature.substring(1, fromIndex), chopit);
-                    }
-
-                    // we have TypeArguments; build up partial result
-                    // as we recurse for each TypeArgument
-                    final StringBuilder type = new StringBuilder(compactClassName(signature.substring(1, bracketIndex), chopit)).append("<");
-                    int consumed_chars = bracketIndex + 1; // Shadows global var
-
-                    // check for wildcards
-                    if (signature.charAt(consumed_chars) == '+') {
-                        type.append("? extends ");
-                        consumed_chars++;
-                    } else if (signature.charAt(consumed_chars) == '-') {
-                        type.append("? super ");
-                        consumed_chars++;
-                    }
-
-                    // get the first TypeArgument
-                    if (signature.charAt(consumed_chars) == '*') {
-                        type.append("?");
-                        consumed_chars++;
-                    } else {
-                        type.append(signatureToString(signature.substring(consumed_chars), chopit));
-                        // update our consumed count by the number of characters the for type argument
-                        consumed_chars = unwrap(Utility.consumed_chars) + consumed_chars;
-                        wrap(Utility.consumed_chars, consumed_chars);
-                    }
-
-                    // are there more TypeArguments?
-                    while (signature.charAt(consumed_chars) != '>') {
-                        type.append(", ");
-                        // check for wildcards
-                        if (signature.charAt(consumed_chars) == '+') {
-                            type.append("? extends ");
-                            consumed_chars++;
-                        } else if (signature.charAt(consumed_chars) == '-') {
-                            type.append("? super ");
-                            consumed_chars++;
-                        }
-                        if (signature.charAt(consumed_chars) == '*') {
-                            type.append("?");
-                            consumed_chars++;
-                        } else {
-                            type.append(signatureToString(signature.substring(consumed_chars), chopit));
-                            // update our consumed count by the number of characters the for type argument
-                            consumed_chars = unwrap(Utility.consumed_chars) + consumed_chars;
-                            wrap(Utility.consumed_chars, consumed_chars);
-                        }
-                    }
-
-                    // process the closing ">"
-                    consumed_chars++;
-                    type.append(">");
-
-                    if (signature.charAt(consumed_chars) == '.') {
-                        // we have a ClassTypeSignatureSuffix
-                        type.append(".");
-                        // convert SimpleClassTypeSignature to fake ClassTypeSignature
-                        // and then recurse to parse it
-                        type.append(signatureToString("L" + signature.substring(consumed_chars + 1), chopit));
-                        // update our consumed count by the number of characters the for type argument
-                        // note that this count includes the "L" we added, but that is ok
-                        // as it accounts for the "." we didn't consume
-                        consumed_chars = unwrap(Utility.consumed_chars) + consumed_chars;
-                        wrap(Utility.consumed_chars, consumed_chars);
-                        return type.toString();
-                    }
-                    if (signature.charAt(consumed_chars) != ';') {
-                        throw new RuntimeException("Invalid signature: " + signature);
-                    }
-                    wrap(Utility.consumed_chars, consumed_chars + 1); // remove final ";"
-                    return type.toString();
-                }
-
-                case '[': { // Array declaration
-                    int n;
-                    StringBuilder brackets;
-                    String type;
-                    int consumed_chars; // Shadows global var
-                    brackets = new StringBuilder(); // Accumulate []'s
-                    // Count opening brackets and look for optional size argument
-                    for (n = 0; signature.charAt(n) == '['; n++) {
-                        brackets.append("[]");
-                    }
-                    consumed_chars = n; // Remember value
-                    // The rest of the string denotes a `<field_type>'
-                    type = signatureToString(signature.substring(n), chopit);
-                    //corrected concurrent private static c_field acess
-                    //Utility.consumed_chars += consumed_chars; is replaced by:
-                    final int _temp = unwrap(Utility.consumed_chars) + consumed_chars;
-                    wrap(Utility.consumed_chars, _temp);
-                    return type + brackets.toString();
-                }
-                default:
-                    throw new RuntimeException("Invalid signature: `" + signature + "'");
-            }
-        } catch (final StringIndexOutOfBoundsException e) { // Should never occur
-            throw new RuntimeException("Invalid signature: " + signature, e);
-        }
+        return new SignatureParser().signatureToString(signature, chopit);
     }
 
     /**
@@ -9,25 +9,9 @@ import lsieun.utils.ByteDashboard;
 @SuppressWarnings("Duplicates")
 public class OpcodeReadVisitor extends EmptyVisitor {
 
-    // region static member
-    private static final ThreadLocal<Boolean> wide_state =
-            new ThreadLocal<Boolean>() {
-                @Override
-                protected Boolean initialValue() {
-                    return false;
-                }
-            };
-
-    public static boolean wide() {
-        return wide_state.get();
-    }
-
-    public static void wide(boolean flag) {
-        wide_state.set(flag);
-    }
-    // endregion
-
-    private ByteDashboard bd;
+    private final ByteDashboard bd;
+    // 上一条指令是否为wide：只保存在当前对象中，不同的OpcodeReadVisitor之间互不影响
+    private boolean wide;
 
     public OpcodeReadVisitor(byte[] code_bytes) {
         bd = new ByteDashboard(code_bytes);
@@ -47,7 +31,7 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
             // wide
             if(ins instanceof WIDE) {
-                wide(true);
+                wide = true;
             }
 
             // Read Fully
@@ -88,11 +72,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitILOAD(ILOAD obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -101,11 +84,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitLLOAD(LLOAD obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -114,11 +96,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitFLOAD(FLOAD obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -127,11 +108,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitDLOAD(DLOAD obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -140,11 +120,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitALOAD(ALOAD obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -153,11 +132,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitISTORE(ISTORE obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -166,11 +144,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitLSTORE(LSTORE obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -179,11 +156,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitFSTORE(FSTORE obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -192,11 +168,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitDSTORE(DSTORE obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -205,11 +180,10 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitASTORE(ASTORE obj) {
-        boolean wide = wide();
         if(wide) {
             obj.length = 3;
             obj.index = bd.readUnsignedShort();
-            wide(false);
+            wide = false;
         }
         else {
             obj.index = bd.readUnsignedByte();
@@ -218,12 +192,11 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitIINC(IINC obj) {
-        boolean wide = wide();
         if (wide) {
             obj.length = 5;
             obj.index = bd.readUnsignedShort();
             obj.constValue = bd.readShort();
-            wide(false);
+            wide = false;
         } else {
             obj.length = 3;
             obj.index = bd.readUnsignedByte();
@@ -333,14 +306,13 @@ public class OpcodeReadVisitor extends EmptyVisitor {
 
     @Override
     public void visitRET(RET obj) {
-        boolean wide = wide();
         if (wide) {
-            obj.length = 4;
-            obj.index = bd.readInt();
-            wide(false);
+            obj.length = 3;
+            obj.index = bd.readUnsignedShort();
+            wide = false;
         } else {
             obj.length = 2;
-            obj.index = bd.readShort();
+            obj.index = bd.readUnsignedByte();
         }
     }
 
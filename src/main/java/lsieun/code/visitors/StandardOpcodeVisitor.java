@@ -223,7 +223,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitANEWARRAY(final ANEWARRAY obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -379,7 +379,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitCHECKCAST(final CHECKCAST obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -579,7 +579,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitGETFIELD(final GETFIELD obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -589,7 +589,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitGETSTATIC(final GETSTATIC obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -767,7 +767,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitINSTANCEOF(final INSTANCEOF obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -777,7 +777,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitINVOKEDYNAMIC(final INVOKEDYNAMIC obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -787,7 +787,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitINVOKEINTERFACE(final INVOKEINTERFACE obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         String format = "%04d: %-15s #%s %s %s // %-10s || %s%n";
@@ -798,7 +798,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitINVOKESPECIAL(INVOKESPECIAL obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -808,7 +808,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitINVOKESTATIC(INVOKESTATIC obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -818,7 +818,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitINVOKEVIRTUAL(INVOKEVIRTUAL obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -925,7 +925,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitLDC(final LDC obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -934,7 +934,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitLDC_W(final LDC_W obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -944,7 +944,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitLDC2_W(final LDC2_W obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -1069,7 +1069,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitMULTIANEWARRAY(final MULTIANEWARRAY obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -1079,7 +1079,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitNEW(final NEW obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -1108,7 +1108,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitPUTFIELD(final PUTFIELD obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
@@ -1118,7 +1118,7 @@ public class StandardOpcodeVisitor implements OpcodeVisitor {
     public void visitPUTSTATIC(final PUTSTATIC obj) {
         String name = OpcodeConst.getOpcodeName(obj.opcode);
         int cpIndex = obj.index;
-        String cpValue = this.constant_pool.getConstant(cpIndex).value;
+        String cpValue = this.constant_pool.getConstant(cpIndex).getValue();
         String hexCode = getHexCode(obj);
 
         System.out.printf(CP_INS_FORMAT, obj.pos, name, cpIndex, hexCode, cpValue);
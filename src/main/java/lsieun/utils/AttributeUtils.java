@@ -12,7 +12,7 @@ public class AttributeUtils {
     public static AttributeInfo findAttribute(Attributes attributes, String attrName) {
         if(StringUtils.isBlank(attrName)) return null;
 
-        AttributeInfo[] entries = attributes.entries;
+        AttributeInfo[] entries = attributes.getEntries();
         for(int i=0; i<entries.length; i++) {
             AttributeInfo item = entries[i];
             String name = item.name;
@@ -36,7 +36,7 @@ public class AttributeUtils {
 
 
     public static String getAttributeNames(Attributes attributes) {
-        AttributeInfo[] entries = attributes.entries;
+        AttributeInfo[] entries = attributes.getEntries();
 
         List<String> attr_list = new ArrayList<>();
         for(int i=0; i<entries.length; i++) {
@@ -0,0 +1,173 @@
+package lsieun.utils;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * <p>
+ *     数据存储在<code>ByteBuffer</code>（例如，<code>MappedByteBuffer</code>）中的ByteDashboard。
+ * </p>
+ * <p>
+ *     start/stop/index记录的是在<code>ByteBuffer</code>中的绝对位置，所有的读取都使用absolute get，
+ *     不会修改<code>ByteBuffer</code>的position，也不会将整个文件复制到<code>byte[]</code>当中。
+ * </p>
+ */
+public class ByteBufferDashboard extends ByteDashboard {
+    private final ByteBuffer buffer;
+
+    /**
+     * 读取<code>buffer</code>从position到limit之间的内容。
+     */
+    public ByteBufferDashboard(ByteBuffer buffer) {
+        this(buffer.duplicate().order(ByteOrder.BIG_ENDIAN), buffer.position(), buffer.remaining());
+    }
+
+    private ByteBufferDashboard(ByteBuffer buffer, int offset, int length) {
+        super(offset, length);
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", limit=" + buffer.limit());
+        }
+        this.buffer = buffer;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * <p>
+     *     heap buffer直接返回它的<code>byte[]</code>；
+     *     mapped buffer和direct buffer没有<code>byte[]</code>，只能复制[start, stop)之间的内容。
+     * </p>
+     * <p>
+     *     为了让start/stop/index仍然是有效的下标，返回的数组长度为stop，start之前的位置为0。
+     *     每次调用都会复制，应该尽量使用{@link #getBytes(int, int)}。
+     * </p>
+     */
+    @Override
+    public byte[] getBytes() {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0) {
+            return buffer.array();
+        }
+        int start = getStart();
+        int stop = getStop();
+        byte[] array = new byte[stop];
+        ByteBuffer dup = buffer.duplicate();
+        ((Buffer) dup).position(start);
+        dup.get(array, start, stop - start);
+        return array;
+    }
+
+    @Override
+    public byte next() {
+        byte b = buffer.get(getIndex());
+        skip(1);
+        return b;
+    }
+
+    @Override
+    public byte[] nextN(int n) {
+        byte[] array = getBytes(getIndex(), n);
+        skip(n);
+        return array;
+    }
+
+    @Override
+    public byte peek() {
+        return buffer.get(getIndex());
+    }
+
+    @Override
+    public byte[] peekN(int n) {
+        return getBytes(getIndex(), n);
+    }
+
+    @Override
+    public byte[] peekN(int offset, int n) {
+        return getBytes(getIndex() + offset, n);
+    }
+
+    @Override
+    public ByteDashboard view(int offset, int n) {
+        return new ByteBufferDashboard(buffer, offset, n);
+    }
+
+    @Override
+    public byte[] getBytes(int offset, int n) {
+        byte[] array = new byte[n];
+        ByteBuffer dup = buffer.duplicate();
+        ((Buffer) dup).position(offset);
+        dup.get(array);
+        return array;
+    }
+
+    @Override
+    public int getUnsignedShort(int offset) {
+        return buffer.getShort(offset) & 0xFFFF;
+    }
+
+    // region readXXX
+    @Override
+    public int readUnsignedByte() {
+        int val = buffer.get(getIndex()) & 0xFF;
+        skip(1);
+        return val;
+    }
+
+    @Override
+    public short readShort() {
+        short val = buffer.getShort(getIndex());
+        skip(2);
+        return val;
+    }
+
+    @Override
+    public int readUnsignedShort() {
+        int val = buffer.getShort(getIndex()) & 0xFFFF;
+        skip(2);
+        return val;
+    }
+
+    @Override
+    public int readInt() {
+        int val = buffer.getInt(getIndex());
+        skip(4);
+        return val;
+    }
+
+    @Override
+    public long readLong() {
+        long val = buffer.getLong(getIndex());
+        skip(8);
+        return val;
+    }
+
+    @Override
+    public String readModifiedUtf8(int length) {
+        return ByteUtils.toModifiedUtf8(nextN(length));
+    }
+    // endregion
+
+    // region peekXXX
+    @Override
+    public int peekUnsignedByte(int offset) {
+        return buffer.get(getIndex() + offset) & 0xFF;
+    }
+
+    @Override
+    public int peekUnsignedShort() {
+        return buffer.getShort(getIndex()) & 0xFFFF;
+    }
+
+    @Override
+    public int peekUnsignedShort(int offset) {
+        return buffer.getShort(getIndex() + offset) & 0xFFFF;
+    }
+
+    @Override
+    public int peekInt(int offset) {
+        return buffer.getInt(getIndex() + offset);
+    }
+    // endregion
+}
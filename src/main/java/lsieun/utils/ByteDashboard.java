@@ -31,10 +31,34 @@ public class ByteDashboard {
     private int stop;
     private int index;
 
+    // bytes会被重复使用（例如，ByteWindow的缓冲区），不能在读取完成之后继续引用它
+    private boolean reusable;
+
     public ByteDashboard(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 只“阅读”<code>bytes</code>当中从<code>offset</code>开始、长度为<code>length</code>的一段内容，
+     * 并不会对<code>bytes</code>进行复制。
+     */
+    public ByteDashboard(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", capacity=" + bytes.length);
+        }
         this.bytes = bytes;
-        this.start = 0;
-        this.stop = bytes.length;
+        this.start = offset;
+        this.stop = offset + length;
+        this.index = this.start;
+    }
+
+    /**
+     * 供子类使用，数据不是存储在<code>byte[]</code>当中，参见{@link ByteBufferDashboard}。
+     */
+    protected ByteDashboard(int offset, int length) {
+        this.bytes = null;
+        this.start = offset;
+        this.stop = offset + length;
         this.index = this.start;
     }
 
@@ -80,10 +104,8 @@ public class ByteDashboard {
 
     public byte[] nextN(int n) {
         byte[] array = new byte[n];
-        for (int i = 0; i < n; i++) {
-            byte b = this.bytes[index++];
-            array[i] = b;
-        }
+        System.arraycopy(this.bytes, index, array, 0, n);
+        index += n;
         return array;
     }
 
@@ -99,19 +121,13 @@ public class ByteDashboard {
 
     public byte[] peekN(int n) {
         byte[] array = new byte[n];
-        for (int i = 0; i < n; i++) {
-            byte b = this.bytes[index + i];
-            array[i] = b;
-        }
+        System.arraycopy(this.bytes, index, array, 0, n);
         return array;
     }
 
     public byte[] peekN(int offset, int n) {
         byte[] bytes = new byte[n];
-        for (int i = 0; i < n; i++) {
-            byte b = this.bytes[index + offset + i];
-            bytes[i] = b;
-        }
+        System.arraycopy(this.bytes, index + offset, bytes, 0, n);
         return bytes;
     }
 
@@ -119,6 +135,60 @@ public class ByteDashboard {
         index = index + n;
     }
 
+    // region slice
+    /**
+     * 从当前位置开始，截取<code>n</code>个字节作为一个新的ByteDashboard，两者共享同一个<code>byte[]</code>；
+     * 当前ByteDashboard的index会向后移动<code>n</code>个字节。
+     */
+    public ByteDashboard slice(int n) {
+        ByteDashboard view = view(index, n);
+        index += n;
+        return view;
+    }
+
+    /**
+     * 与{@link #slice(int)}类似，但是不会移动当前ByteDashboard的index。
+     */
+    public ByteDashboard peekSlice(int offset, int n) {
+        return view(index + offset, n);
+    }
+
+    /**
+     * 以绝对位置<code>offset</code>截取<code>n</code>个字节作为一个新的ByteDashboard，与index无关。
+     */
+    public ByteDashboard view(int offset, int n) {
+        ByteDashboard bd = new ByteDashboard(bytes, offset, n);
+        bd.reusable = this.reusable;
+        return bd;
+    }
+
+    /**
+     * 复制绝对位置<code>offset</code>开始的<code>n</code>个字节，与index无关。
+     */
+    public byte[] getBytes(int offset, int n) {
+        return readBytes(bytes, offset, n);
+    }
+
+    /**
+     * 读取绝对位置<code>offset</code>处的u2，与index无关。
+     */
+    public int getUnsignedShort(int offset) {
+        return ByteUtils.readUnsignedShort(bytes, offset);
+    }
+
+    public boolean isReusable() {
+        return reusable;
+    }
+
+    void setReusable(boolean reusable) {
+        this.reusable = reusable;
+    }
+
+    public int remaining() {
+        return stop - index;
+    }
+    // endregion
+
     // region readXXX
     public byte readByte() {
         byte b = next();
@@ -126,28 +196,63 @@ public class ByteDashboard {
     }
 
     public int readUnsignedByte() {
-        byte[] bytes = nextN(1);
-        return ByteUtils.bytesToInt(bytes, 0);
+        return bytes[index++] & 0xFF;
     }
 
     public short readShort() {
-        byte[] bytes = nextN(2);
-        return ByteUtils.toShort(bytes);
+        short val = ByteUtils.readShort(bytes, index);
+        index += 2;
+        return val;
     }
 
     public int readUnsignedShort() {
-        byte[] bytes = nextN(2);
-        return ByteUtils.bytesToInt(bytes, 0);
+        int val = ByteUtils.readUnsignedShort(bytes, index);
+        index += 2;
+        return val;
     }
 
     public int readInt() {
-        byte[] bytes = nextN(4);
-        return ByteUtils.toInt(bytes);
+        int val = ByteUtils.readInt(bytes, index);
+        index += 4;
+        return val;
     }
 
     public long readLong() {
-        byte[] bytes = nextN(8);
-        return ByteUtils.toLong(bytes);
+        long val = ByteUtils.readLong(bytes, index);
+        index += 8;
+        return val;
+    }
+
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    public String readModifiedUtf8(int length) {
+        String str = ByteUtils.toModifiedUtf8(bytes, index, length);
+        index += length;
+        return str;
+    }
+    // endregion
+
+    // region peekXXX
+    public int peekUnsignedByte(int offset) {
+        return bytes[index + offset] & 0xFF;
+    }
+
+    public int peekUnsignedShort() {
+        return ByteUtils.readUnsignedShort(bytes, index);
+    }
+
+    public int peekUnsignedShort(int offset) {
+        return ByteUtils.readUnsignedShort(bytes, index + offset);
+    }
+
+    public int peekInt(int offset) {
+        return ByteUtils.readInt(bytes, index + offset);
     }
     // endregion
 
@@ -167,10 +272,7 @@ public class ByteDashboard {
 
     public static byte[] readBytes(byte[] code_bytes, int offset, int n) {
         byte[] array = new byte[n];
-        for (int i = 0; i < n; i++) {
-            byte b = code_bytes[offset + i];
-            array[i] = b;
-        }
+        System.arraycopy(code_bytes, offset, array, 0, n);
         return array;
     }
 }
\ No newline at end of file
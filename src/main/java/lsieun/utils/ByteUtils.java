@@ -13,10 +13,7 @@ public class ByteUtils {
     }
 
     public static short toShort(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.allocate(Short.BYTES);
-        buffer.put(bytes);
-        buffer.flip();//need flip
-        return buffer.getShort();
+        return readShort(bytes, 0);
     }
 
     public static byte[] fromInt(int x) {
@@ -26,10 +23,7 @@ public class ByteUtils {
     }
 
     public static int toInt(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
-        buffer.put(bytes);
-        buffer.flip(); // need flip
-        return buffer.getInt();
+        return readInt(bytes, 0);
     }
 
     public static byte[] fromLong(long x) {
@@ -39,10 +33,7 @@ public class ByteUtils {
     }
 
     public static long toLong(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
-        buffer.put(bytes);
-        buffer.flip(); // need flip
-        return buffer.getLong();
+        return readLong(bytes, 0);
     }
 
     public static byte[] fromFloat(float x) {
@@ -52,10 +43,7 @@ public class ByteUtils {
     }
 
     public static float toFloat(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.allocate(Float.BYTES);
-        buffer.put(bytes);
-        buffer.flip(); // need flip
-        return buffer.getFloat();
+        return Float.intBitsToFloat(readInt(bytes, 0));
     }
 
     public static byte[] fromDouble(double x) {
@@ -65,11 +53,31 @@ public class ByteUtils {
     }
 
     public static double toDouble(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES);
-        buffer.put(bytes);
-        buffer.flip(); // need flip
-        return buffer.getDouble();
+        return Double.longBitsToDouble(readLong(bytes, 0));
+    }
+
+    // region big-endian read, no allocation
+    public static short readShort(byte[] bytes, int offset) {
+        return (short) (((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF));
+    }
+
+    public static int readUnsignedShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    public static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24)
+                | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8)
+                | (bytes[offset + 3] & 0xFF);
+    }
+
+    public static long readLong(byte[] bytes, int offset) {
+        long high = readInt(bytes, offset);
+        long low = readInt(bytes, offset + 4) & 0xFFFFFFFFL;
+        return (high << 32) | low;
     }
+    // endregion
 
     public static byte[] fromUtf8(String str) {
         return str.getBytes(StandardCharsets.UTF_8);
@@ -80,10 +88,19 @@ public class ByteUtils {
     }
 
     public static String toModifiedUtf8(byte[] bytes) {
-        int length = bytes.length;
+        return toModifiedUtf8(bytes, 0, bytes.length);
+    }
+
+    public static String toModifiedUtf8(byte[] bytes, int offset, int length) {
+        // 大部分的类名、方法名和描述符都是ASCII字符，不需要解码
+        if (isAscii(bytes, offset, length)) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+
         char[] chars = new char[length];
         int strLength = 0;
-        for (int i = 0; i < length; ) {
+        int end = offset + length;
+        for (int i = offset; i < end; ) {
             byte b = bytes[i++];
             if ((b & 0x80) == 0) {
                 chars[strLength++] = (char) (b & 0x7F);
@@ -96,6 +113,14 @@ public class ByteUtils {
         return new String(chars, 0, strLength);
     }
 
+    public static boolean isAscii(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] < 0) return false;
+        }
+        return true;
+    }
+
     public static byte[] toBytes(int val) {
         return toBytes(val, Integer.BYTES);
     }
@@ -0,0 +1,159 @@
+package lsieun.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * <p>
+ *     ByteWindow是数据流上的一个“窗口”：只在内存中保留一小段数据，读完之后再从<code>InputStream</code>或
+ *     <code>ReadableByteChannel</code>中补充。
+ * </p>
+ * <p>
+ *     窗口的大小只会增长到“一次需要的最大字节数”（例如，最大的一个attribute），与整个数据流的长度无关。
+ * </p>
+ */
+public class ByteWindow {
+    public static final int DEFAULT_CAPACITY = 8 * 1024;
+
+    private final ReadableByteChannel channel;
+    private byte[] buf;
+    private ByteBuffer wrapper;
+
+    // [pos, limit)是已经读入、但还没有被消费的数据
+    private int pos;
+    private int limit;
+    // 已经消费的字节数
+    private long consumed;
+
+    public ByteWindow(InputStream in) {
+        this(Channels.newChannel(in), DEFAULT_CAPACITY);
+    }
+
+    public ByteWindow(ReadableByteChannel channel, int capacity) {
+        this.channel = channel;
+        this.buf = new byte[capacity];
+        this.wrapper = ByteBuffer.wrap(buf);
+        this.pos = 0;
+        this.limit = 0;
+        this.consumed = 0;
+    }
+
+    public long getConsumed() {
+        return consumed;
+    }
+
+    public int getCapacity() {
+        return buf.length;
+    }
+
+    /**
+     * 确保窗口中至少有<code>n</code>个字节可以读取
+     */
+    public void require(int n) throws IOException {
+        if (limit - pos >= n) return;
+
+        // 将没有读取的数据移动到最前面
+        int available = limit - pos;
+        if (n > buf.length) {
+            byte[] array = new byte[Math.max(n, buf.length * 2)];
+            System.arraycopy(buf, pos, array, 0, available);
+            buf = array;
+            wrapper = ByteBuffer.wrap(buf);
+        }
+        else if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, available);
+        }
+        pos = 0;
+        limit = available;
+
+        while (limit < n) {
+            fill();
+        }
+    }
+
+    private void fill() throws IOException {
+        ((Buffer) wrapper).limit(buf.length);
+        ((Buffer) wrapper).position(limit);
+        int count = channel.read(wrapper);
+        if (count < 0) {
+            throw new EOFException("Unexpected end of stream: " + (consumed + limit - pos) + " bytes read");
+        }
+        limit += count;
+    }
+
+    /**
+     * 跳过<code>n</code>个字节，不会为它们分配内存
+     */
+    public void skip(long n) throws IOException {
+        while (n > 0) {
+            if (pos == limit) {
+                pos = 0;
+                limit = 0;
+                fill();
+            }
+            int count = (int) Math.min(n, limit - pos);
+            pos += count;
+            consumed += count;
+            n -= count;
+        }
+    }
+
+    /**
+     * 窗口中接下来的<code>n</code>个字节，作为一个ByteDashboard；
+     * 它与窗口共享同一个<code>byte[]</code>，在下一次读取窗口之前有效。
+     */
+    public ByteDashboard view(int n) throws IOException {
+        require(n);
+        ByteDashboard bd = new ByteDashboard(buf, pos, n);
+        bd.setReusable(true);
+        pos += n;
+        consumed += n;
+        return bd;
+    }
+
+    // region readXXX
+    public int readUnsignedByte() throws IOException {
+        require(1);
+        consumed += 1;
+        return buf[pos++] & 0xFF;
+    }
+
+    public int readUnsignedShort() throws IOException {
+        require(2);
+        int val = ByteUtils.readUnsignedShort(buf, pos);
+        pos += 2;
+        consumed += 2;
+        return val;
+    }
+
+    public int readInt() throws IOException {
+        require(4);
+        int val = ByteUtils.readInt(buf, pos);
+        pos += 4;
+        consumed += 4;
+        return val;
+    }
+    // endregion
+
+    // region peekXXX
+    public int peekUnsignedByte(int offset) throws IOException {
+        require(offset + 1);
+        return buf[pos + offset] & 0xFF;
+    }
+
+    public int peekUnsignedShort(int offset) throws IOException {
+        require(offset + 2);
+        return ByteUtils.readUnsignedShort(buf, pos + offset);
+    }
+
+    public int peekInt(int offset) throws IOException {
+        require(offset + 4);
+        return ByteUtils.readInt(buf, pos + offset);
+    }
+    // endregion
+}
@@ -0,0 +1,199 @@
+package lsieun.utils;
+
+import lsieun.classfile.ClassFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ *     遍历classpath（目录和jar文件，与<code>-cp</code>的格式相同），并行地解析其中所有的.class文件。
+ * </p>
+ * <p>
+ *     每个目录、每个jar文件都是一个单独的任务，在同一个ForkJoinPool（work-stealing）中执行：
+ *     目录使用<code>Files.walkFileTree</code>遍历，每找到一个.class文件就fork一个解析任务；
+ *     jar文件使用{@link ZipArchive}读取，与{@link JarUtils#forEachClass}相同的方式分段解析。
+ * </p>
+ * <p>
+ *     某个.class文件读取或者解析失败时，只打印错误并跳过这个文件，与JarUtils相同；
+ *     不能读取的jar文件（例如，不是zip格式，或者下载不完整）也只打印错误并跳过。
+ * </p>
+ * <pre>
+ * ClassPathCrawler crawler = new ClassPathCrawler("target/classes:lib/asm.jar");
+ * crawler.setParallelism(8);
+ * crawler.crawl((name, classFile) -&gt; System.out.println(name));
+ * </pre>
+ */
+public class ClassPathCrawler {
+    private final List<Path> roots;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean lazy = false;
+
+    /**
+     * @param classpath 使用<code>File.pathSeparator</code>分隔的目录和jar文件
+     */
+    public ClassPathCrawler(String classpath) {
+        this.roots = new ArrayList<>();
+        for (String item : classpath.split(File.pathSeparator)) {
+            if (item.isEmpty()) continue;
+            roots.add(Paths.get(item));
+        }
+    }
+
+    public ClassPathCrawler(List<Path> roots) {
+        this.roots = new ArrayList<>(roots);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * <code>callback</code>会在多个线程中同时调用，参数为class文件的相对路径（例如<code>java/lang/Object.class</code>）和ClassFile。
+     */
+    public void crawl(BiConsumer<String, ClassFile> callback) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    List<RecursiveAction> tasks = new ArrayList<>();
+                    for (Path root : roots) {
+                        if (Files.isDirectory(root)) {
+                            tasks.add(new DirectoryTask(root, callback));
+                        }
+                        else if (Files.isRegularFile(root)) {
+                            tasks.add(new JarTask(root, callback));
+                        }
+                    }
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path root;
+        private final BiConsumer<String, ClassFile> callback;
+
+        DirectoryTask(Path root, BiConsumer<String, ClassFile> callback) {
+            this.root = root;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void compute() {
+            final List<FileTask> tasks = new ArrayList<>();
+            try {
+                Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        String name = file.getFileName().toString();
+                        if (attrs.isRegularFile() && name.endsWith(".class")) {
+                            FileTask task = new FileTask(root, file, callback);
+                            task.fork();
+                            tasks.add(task);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+
+            for (FileTask task : tasks) {
+                task.join();
+            }
+        }
+    }
+
+    private final class FileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path root;
+        private final Path file;
+        private final BiConsumer<String, ClassFile> callback;
+
+        FileTask(Path root, Path file, BiConsumer<String, ClassFile> callback) {
+            this.root = root;
+            this.file = file;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void compute() {
+            // 与jar文件中entry name的格式保持一致
+            String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+            ClassFile classFile;
+            try {
+                classFile = ClassFile.parse(Files.readAllBytes(file), lazy);
+            } catch (IOException | RuntimeException e) {
+                JarUtils.printError(name, e);
+                return;
+            }
+            callback.accept(name, classFile);
+        }
+    }
+
+    private final class JarTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path jar;
+        private final BiConsumer<String, ClassFile> callback;
+
+        JarTask(Path jar, BiConsumer<String, ClassFile> callback) {
+            this.jar = jar;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void compute() {
+            // 不是zip文件，或者文件已经损坏：只打印错误，不影响其他任务
+            ZipArchive archive;
+            int[] entries;
+            try {
+                archive = ZipArchive.open(jar.toString());
+                entries = JarUtils.listClassEntries(archive);
+            } catch (RuntimeException e) {
+                JarUtils.printError(jar.toString(), e);
+                return;
+            }
+
+            try {
+                new JarUtils.ScanTask(archive, entries, 0, entries.length, lazy, callback).invoke();
+            } finally {
+                archive.close();
+            }
+        }
+    }
+}
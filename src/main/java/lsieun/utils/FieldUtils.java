@@ -17,7 +17,7 @@ public class FieldUtils {
     public static FieldInfo findField(Fields fields, String nameAndType) {
         if(StringUtils.isBlank(nameAndType)) return null;
 
-        FieldInfo[] entries = fields.entries;
+        FieldInfo[] entries = fields.getEntries();
         for(FieldInfo item: entries) {
             String value = item.value;
             if(nameAndType.equals(value)) {
@@ -30,7 +30,7 @@ public class FieldUtils {
     }
 
     public static void displayAvailableFields(Fields fields) {
-        FieldInfo[] entries = fields.entries;
+        FieldInfo[] entries = fields.getEntries();
         if(entries != null && entries.length > 0) {
             System.out.println("Available Fields:");
             for(FieldInfo item : entries) {
@@ -45,7 +45,7 @@ public class FieldUtils {
     }
 
     public String getFieldNames(Fields fields) {
-        FieldInfo[] entries = fields.entries;
+        FieldInfo[] entries = fields.getEntries();
 
         List<String> list = new ArrayList();
         for(FieldInfo item : entries) {
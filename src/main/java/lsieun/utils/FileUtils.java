@@ -1,7 +1,10 @@
 package lsieun.utils;
 
 import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,6 +43,23 @@ public class FileUtils {
         return null;
     }
 
+    /**
+     * 将文件映射到内存中，不会复制到<code>byte[]</code>。映射在channel关闭之后仍然有效。
+     */
+    public static MappedByteBuffer mapBytes(String filepath) {
+        File file = new File(filepath);
+        if (!file.exists()) {
+            throw new IllegalArgumentException("File Not Exist: " + filepath);
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     public static void writeBytes(String filepath, byte[] bytes) {
         File file = new File(filepath);
         File dirFile = file.getParentFile();
@@ -1,6 +1,8 @@
 package lsieun.utils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -41,7 +43,27 @@ public class IOUtils {
         return count;
     }
 
+    /**
+     * 读取<code>input</code>中的全部内容；<code>size</code>为预计的长度，不知道长度时使用-1
+     */
+    public static byte[] toByteArray(final InputStream input, final int size) throws IOException {
+        if (size < 0) {
+            ByteArrayOutputStream bao = new ByteArrayOutputStream();
+            copy(input, bao);
+            return bao.toByteArray();
+        }
 
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        while (offset < size) {
+            int n = input.read(bytes, offset, size - offset);
+            if (n == EOF) {
+                throw new EOFException("Expected " + size + " bytes, but got " + offset);
+            }
+            offset += n;
+        }
+        return bytes;
+    }
 
     public static void closeQuietly(final Closeable closeable) {
         try {
@@ -1,11 +1,28 @@
 package lsieun.utils;
 
+import lsieun.classfile.ClassFile;
+
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
 import java.util.jar.JarFile;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 public class JarUtils {
+    // 并行解析时，每个任务最少处理的entry数量
+    private static final int SCAN_THRESHOLD = 16;
+
     public static byte[] readClass(String jarPath, String entryName) {
         try (
             JarFile jarFile = new JarFile(jarPath);
@@ -20,4 +37,282 @@ public class JarUtils {
         }
         return null;
     }
+
+    /**
+     * 对于没有压缩（STORED）的entry，返回memory-mapped jar文件中的一段，不会复制数据；
+     * 对于压缩过的entry，解压到heap buffer中。
+     * 每次调用都要读取jar文件的central directory，读取同一个jar文件中的多个entry时，应该使用{@link #mapClass(ZipArchive, String)}。
+     */
+    public static ByteBuffer mapClass(String jarPath, String entryName) {
+        // 返回的ByteBuffer仍然引用被映射的文件，关闭archive不影响它
+        try (ZipArchive archive = ZipArchive.open(jarPath)) {
+            return mapClass(archive, entryName);
+        }
+    }
+
+    public static ByteBuffer mapClass(ZipArchive archive, String entryName) {
+        int i = archive.find(entryName);
+        if (i < 0) {
+            throw new IllegalArgumentException("Entry Not Exist: " + entryName);
+        }
+
+        try {
+            return archive.getData(i);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    // region parallel scan
+    /**
+     * 使用<code>ForkJoinPool.commonPool()</code>并行地解压、解析jar文件中所有的.class文件。
+     * <code>callback</code>会在多个线程中同时调用，参数为entry name和ClassFile。
+     */
+    public static void forEachClass(String jarPath, BiConsumer<String, ClassFile> callback) {
+        forEachClass(jarPath, ForkJoinPool.commonPool(), false, callback);
+    }
+
+    public static void forEachClass(String jarPath, ForkJoinPool pool, boolean lazy, BiConsumer<String, ClassFile> callback) {
+        try (ZipArchive archive = ZipArchive.open(jarPath)) {
+            int[] entries = listClassEntries(archive);
+            pool.invoke(new ScanTask(archive, entries, 0, entries.length, lazy, callback));
+        }
+    }
+
+    /**
+     * 并行解析jar文件中所有的.class文件。使用完之后需要关闭Stream，例如：
+     * <pre>
+     * try (Stream&lt;ClassFile&gt; stream = JarUtils.streamClasses(jarPath)) {
+     *     stream.forEach(...);
+     * }
+     * </pre>
+     */
+    public static Stream<ClassFile> streamClasses(String jarPath) {
+        ZipArchive archive = ZipArchive.open(jarPath);
+        int[] entries = listClassEntries(archive);
+        return IntStream.of(entries).parallel()
+                .mapToObj(i -> parseEntry(archive, i, false))
+                .filter(Objects::nonNull)
+                .onClose(archive::close);
+    }
+
+    /**
+     * @return 所有.class文件的entry序号
+     */
+    public static int[] listClassEntries(ZipArchive archive) {
+        int[] array = new int[archive.size()];
+        int count = 0;
+        for (int i = 0; i < archive.size(); i++) {
+            if (isClassEntry(archive, i)) {
+                array[count++] = i;
+            }
+        }
+        int[] result = new int[count];
+        System.arraycopy(array, 0, result, 0, count);
+        return result;
+    }
+
+    private static boolean isClassEntry(ZipArchive archive, int i) {
+        return archive.nameEndsWith(i, ".class");
+    }
+
+    /**
+     * STORED entry直接从memory-mapped文件中解析，DEFLATED entry先解压
+     *
+     * @return 如果读取或者解析失败，返回null，见{@link #printError(String, Exception)}
+     */
+    static ClassFile parseEntry(ZipArchive archive, int i, boolean lazy) {
+        try {
+            if (archive.getMethod(i) == ZipEntry.STORED) {
+                return ClassFile.parse(archive.getRawData(i), lazy);
+            }
+            return ClassFile.parse(archive.getBytes(i), lazy);
+        } catch (IOException | RuntimeException e) {
+            printError(archive.getName(i), e);
+        }
+        return null;
+    }
+
+    /**
+     * 批量解析时，一个.class文件读取或者解析失败，只打印错误并跳过这个文件，不影响其他文件
+     */
+    public static void printError(String name, Exception e) {
+        new RuntimeException("Can not parse " + name, e).printStackTrace();
+    }
+
+    static final class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ZipArchive archive;
+        private final int[] entries;
+        private final int from;
+        private final int to;
+        private final boolean lazy;
+        private final BiConsumer<String, ClassFile> callback;
+
+        ScanTask(ZipArchive archive, int[] entries, int from, int to, boolean lazy, BiConsumer<String, ClassFile> callback) {
+            this.archive = archive;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.lazy = lazy;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SCAN_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    int entry = entries[i];
+                    ClassFile classFile = parseEntry(archive, entry, lazy);
+                    if (classFile != null) {
+                        callback.accept(archive.getName(entry), classFile);
+                    }
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScanTask(archive, entries, from, mid, lazy, callback),
+                    new ScanTask(archive, entries, mid, to, lazy, callback));
+        }
+    }
+    // endregion
+
+    // region nested jar
+    /**
+     * <p>
+     *     解析jar文件中所有的.class文件，包括嵌套在其中的jar文件（例如，Spring Boot的<code>BOOT-INF/lib/*.jar</code>）。
+     *     不会将嵌套的jar文件解压到磁盘上：
+     * </p>
+     * <ul>
+     *     <li>没有压缩（STORED）的jar文件，直接使用外层memory-mapped文件中的一段；</li>
+     *     <li>压缩过的jar文件，使用ZipInputStream一边解压一边读取。</li>
+     * </ul>
+     * <p>
+     *     <code>callback</code>的第一个参数为entry name，嵌套的jar文件使用<code>!/</code>分隔，
+     *     例如<code>BOOT-INF/lib/a.jar!/com/example/A.class</code>。
+     * </p>
+     */
+    public static void forEachNestedClass(String jarPath, BiConsumer<String, ClassFile> callback) {
+        try (ZipArchive archive = ZipArchive.open(jarPath)) {
+            scanArchive(archive, "", callback);
+        }
+    }
+
+    private static void scanArchive(ZipArchive archive, String prefix, BiConsumer<String, ClassFile> callback) {
+        for (int i = 0; i < archive.size(); i++) {
+            if (isClassEntry(archive, i)) {
+                ClassFile classFile = parseEntry(archive, i, false);
+                if (classFile != null) {
+                    callback.accept(prefix + archive.getName(i), classFile);
+                }
+            }
+            else if (archive.nameEndsWith(i, ".jar")) {
+                String name = prefix + archive.getName(i);
+                // 嵌套的jar文件损坏时，只打印错误并跳过这个jar文件
+                try {
+                    scanNestedJar(archive, i, name + "!/", callback);
+                } catch (IOException e) {
+                    printError(name, e);
+                }
+            }
+        }
+    }
+
+    private static void scanNestedJar(ZipArchive archive, int i, String prefix, BiConsumer<String, ClassFile> callback) throws IOException {
+        if (archive.getMethod(i) == ZipEntry.STORED) {
+            ZipArchive nested;
+            try {
+                nested = new ZipArchive(archive.getRawData(i));
+            } catch (RuntimeException e) {
+                throw new IOException("Invalid nested jar", e);
+            }
+            try {
+                scanArchive(nested, prefix, callback);
+            } finally {
+                nested.close();
+            }
+        }
+        else {
+            // 关闭InflaterInputStream时不会释放传入的Inflater，需要调用end()
+            Inflater inflater = new Inflater(true);
+            try (ZipInputStream zin = new ZipInputStream(new InflaterInputStream(new ByteBufferInputStream(archive.getRawData(i)), inflater))) {
+                scanStream(zin, prefix, callback);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void scanStream(ZipInputStream zin, String prefix, BiConsumer<String, ClassFile> callback) throws IOException {
+        ZipEntry entry;
+        while ((entry = zin.getNextEntry()) != null) {
+            String name = entry.getName();
+            if (name.endsWith(".class")) {
+                byte[] bytes = IOUtils.toByteArray(zin, -1);
+                ClassFile classFile;
+                try {
+                    classFile = ClassFile.parse(bytes);
+                } catch (RuntimeException e) {
+                    printError(prefix + name, e);
+                    continue;
+                }
+                callback.accept(prefix + name, classFile);
+            }
+            else if (name.endsWith(".jar")) {
+                // 关闭内层的ZipInputStream（释放它的Inflater），但是不关闭外层的流
+                try (ZipInputStream nested = new ZipInputStream(new NonClosingInputStream(zin))) {
+                    scanStream(nested, prefix + name + "!/", callback);
+                } catch (IOException e) {
+                    // 外层的getNextEntry()会跳过这个entry剩余的部分
+                    printError(prefix + name, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * close()时不关闭被包装的InputStream
+     */
+    private static final class NonClosingInputStream extends FilterInputStream {
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * 将ByteBuffer的position到limit之间的内容作为InputStream
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+    // endregion
 }
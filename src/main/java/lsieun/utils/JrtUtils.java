@@ -0,0 +1,81 @@
+package lsieun.utils;
+
+import lsieun.classfile.ClassFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ *     从JDK 9+的runtime image（<code>lib/modules</code>）中读取.class文件，使用<code>jrt:/</code>文件系统。
+ * </p>
+ * <p>
+ *     <code>jrt:/modules/&lt;module&gt;/&lt;entry&gt;</code>，例如<code>jrt:/modules/java.base/java/lang/Object.class</code>。
+ * </p>
+ */
+public class JrtUtils {
+    private static final URI JRT_URI = URI.create("jrt:/");
+
+    public static FileSystem getFileSystem() {
+        try {
+            return FileSystems.getFileSystem(JRT_URI);
+        } catch (ProviderNotFoundException | FileSystemNotFoundException e) {
+            throw new RuntimeException("jrt:/ file system is not available, JDK 9+ is required", e);
+        }
+    }
+
+    /**
+     * 所有module的根目录，例如<code>/modules/java.base</code>
+     */
+    public static List<Path> getModulePaths() {
+        List<Path> list = new ArrayList<>();
+        Path modules = getFileSystem().getPath("/modules");
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(modules)) {
+            for (Path path : stream) {
+                list.add(path);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    /**
+     * @param module_name 例如，java.base
+     * @param entry_name 例如，java/lang/Object.class
+     */
+    public static byte[] readClass(String module_name, String entry_name) {
+        Path path = getFileSystem().getPath("/modules", module_name, entry_name);
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * 并行地解析JDK中所有的.class文件，每个module是一个任务，module中的每个.class文件再拆分成子任务。
+     * <code>callback</code>会在多个线程中同时调用。
+     */
+    public static void forEachClass(BiConsumer<String, ClassFile> callback) {
+        forEachClass(Runtime.getRuntime().availableProcessors(), false, callback);
+    }
+
+    public static void forEachClass(int parallelism, boolean lazy, BiConsumer<String, ClassFile> callback) {
+        ClassPathCrawler crawler = new ClassPathCrawler(getModulePaths());
+        crawler.setParallelism(parallelism);
+        crawler.setLazy(lazy);
+        crawler.crawl(callback);
+    }
+}
@@ -17,7 +17,7 @@ public class MethodUtils {
     public static MethodInfo findMethod(Methods methods, String nameAndType) {
         if(StringUtils.isBlank(nameAndType)) return null;
 
-        MethodInfo[] entries = methods.entries;
+        MethodInfo[] entries = methods.getEntries();
         for(MethodInfo item: entries) {
             String value = item.value;
             if(nameAndType.equals(value)) {
@@ -36,7 +36,7 @@ public class MethodUtils {
     }
 
     public static void displayAvailableMethods(Methods methods) {
-        MethodInfo[] entries = methods.entries;
+        MethodInfo[] entries = methods.getEntries();
         if(entries != null && entries.length > 0) {
             System.out.println("\nAvailable Methods:");
             for(MethodInfo item : entries) {
@@ -58,7 +58,7 @@ public class MethodUtils {
     }
 
     public static String getMethodNames(Methods methods) {
-        MethodInfo[] entries = methods.entries;
+        MethodInfo[] entries = methods.getEntries();
         List<String> list = new ArrayList();
         for(MethodInfo item : entries) {
             String value = item.value;
@@ -71,8 +71,8 @@ public class MethodUtils {
         final int name_index = method_info.name_index;
         final int descriptor_index = method_info.descriptor_index;
 
-        String name = cp.getConstant(name_index).value;
-        String descriptor = cp.getConstant(descriptor_index).value;
+        String name = cp.getConstant(name_index).getValue();
+        String descriptor = cp.getConstant(descriptor_index).getValue();
         System.out.println(String.format("Method %s:%s", name, descriptor));
     }
 }
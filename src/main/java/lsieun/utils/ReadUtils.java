@@ -1,6 +1,7 @@
 package lsieun.utils;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 public class ReadUtils {
     /**
@@ -12,6 +13,16 @@ public class ReadUtils {
         return FileUtils.readBytes(filepath);
     }
 
+    /**
+     * 与{@link #readByPath(String)}相同，但是使用memory-mapped file，不会复制文件内容
+     * @param filepath 例如，/home/user/Workspace/tmp/HelloWorld.class
+     * @return
+     */
+    public static ByteBuffer mapByPath(String filepath) {
+        System.out.println("Class File Path: file://" + filepath);
+        return FileUtils.mapBytes(filepath);
+    }
+
     /**
      * @param class_name 例如， lsieun.classfile.MagicNumber
      * @return
@@ -45,4 +56,30 @@ public class ReadUtils {
 
         return JarUtils.readClass(jar_path, entry_name);
     }
+
+    /**
+     * 与{@link #readByJar(String, String)}相同，但是对于没有压缩（STORED）的entry，直接使用memory-mapped file
+     * @param jar_path 例如，/usr/local/jdk8/jre/lib/rt.jar
+     * @param entry_name 例如，java/lang/Object.class
+     * @return
+     */
+    public static ByteBuffer mapByJar(String jar_path, String entry_name) {
+        String filepath = "jar:file:" + jar_path + "!/" + entry_name;
+        System.out.println("Class File Path: " + filepath);
+
+        return JarUtils.mapClass(jar_path, entry_name);
+    }
+
+    /**
+     * JDK 9+没有rt.jar，从jrt:/文件系统中读取
+     * @param module_name 例如，java.base
+     * @param entry_name 例如，java/lang/Object.class
+     * @return
+     */
+    public static byte[] readByJrt(String module_name, String entry_name) {
+        String filepath = "jrt:/modules/" + module_name + "/" + entry_name;
+        System.out.println("Class File Path: " + filepath);
+
+        return JrtUtils.readClass(module_name, entry_name);
+    }
 }
@@ -0,0 +1,237 @@
+package lsieun.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ *     在多个ClassFile之间共享的CONSTANT_Utf8表：相同的字节序列只保留一个<code>byte[]</code>和一个String对象，
+ *     例如<code>java/lang/Object</code>、<code>()V</code>、<code>Code</code>。
+ * </p>
+ * <p>
+ *     默认不启用。使用{@link #setGlobal(SymbolTable)}之后创建的ConstantUtf8（以及通过它得到的attribute name）
+ *     都会经过这个表，它们的bytes和value都是共享的，所以不能修改bytes。
+ *     表被分成多个stripe，每个stripe单独加锁，不同stripe之间没有竞争。
+ * </p>
+ * <pre>
+ * SymbolTable table = new SymbolTable();
+ * SymbolTable.setGlobal(table);
+ * // parse classes ...
+ * SymbolTable.setGlobal(null);
+ * System.out.println(table);
+ * </pre>
+ */
+public class SymbolTable {
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPE_COUNT = 1 << STRIPE_BITS;
+    private static final int INITIAL_STRIPE_CAPACITY = 64;
+
+    // 用于估计节省的内存：String对象的大小，以及是否使用compact strings（Java 9+）
+    private static final int STRING_SIZE = 24;
+    private static final boolean COMPACT_STRINGS = !System.getProperty("java.specification.version", "").startsWith("1.");
+
+    private static volatile SymbolTable global;
+
+    private final Stripe[] stripes;
+
+    // statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder saved_bytes = new LongAdder();
+
+    public SymbolTable() {
+        stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public static SymbolTable getGlobal() {
+        return global;
+    }
+
+    /**
+     * <code>null</code>表示不使用SymbolTable
+     */
+    public static void setGlobal(SymbolTable table) {
+        global = table;
+    }
+
+    /**
+     * 返回与<code>bytes</code>内容相同的Symbol；如果之前出现过，返回之前的Symbol，<code>bytes</code>可以被回收。
+     *
+     * @param bytes 完整的CONSTANT_Utf8（包括tag和length）
+     * @param header_length <code>bytes</code>中Modified UTF-8之前的字节数
+     */
+    public Symbol intern(byte[] bytes, int header_length) {
+        int hash = hash(bytes);
+        // stripe使用hash的高位，bucket使用hash的低位
+        Stripe stripe = stripes[(hash * 0x9E3779B9) >>> (32 - STRIPE_BITS)];
+
+        Symbol symbol = stripe.get(hash, bytes);
+        if (symbol == null) {
+            String str = ByteUtils.toModifiedUtf8(bytes, header_length, bytes.length - header_length);
+            Symbol candidate = new Symbol(hash, bytes, str);
+            symbol = stripe.putIfAbsent(candidate);
+            if (symbol == candidate) {
+                misses.increment();
+                return symbol;
+            }
+        }
+        hits.increment();
+        saved_bytes.add(estimateSize(symbol));
+        return symbol;
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = 1;
+        for (byte b : bytes) {
+            h = 31 * h + b;
+        }
+        return h;
+    }
+
+    /**
+     * 一次命中节省的内存（估计值）：重复的byte[]，加上重复的String和它内部的数组。
+     * 按照64位JVM、compressed oops计算：对象头12字节、数组头16字节、按8字节对齐；
+     * Java 9之后的compact strings中，Latin-1字符串每个字符占1个字节，否则占2个字节。
+     */
+    private static long estimateSize(Symbol symbol) {
+        String str = symbol.value;
+        int chars = str.length();
+        int char_bytes = COMPACT_STRINGS && isLatin1(str) ? chars : 2 * chars;
+        return arraySize(symbol.bytes.length) + STRING_SIZE + arraySize(char_bytes);
+    }
+
+    private static long arraySize(int length) {
+        return (16L + length + 7) & ~7L;
+    }
+
+    private static boolean isLatin1(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > 0xFF) return false;
+        }
+        return true;
+    }
+
+    // region statistics
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * 因为共享byte[]和String而节省的内存（估计值），见{@link #estimateSize(Symbol)}
+     */
+    public long getSavedBytes() {
+        return saved_bytes.sum();
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+        saved_bytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SymbolTable{size=%d, hits=%d, misses=%d, hitRate=%.2f%%, savedBytes=%d}",
+                size(), getHitCount(), getMissCount(), getHitRate() * 100, getSavedBytes());
+    }
+    // endregion
+
+    /**
+     * 共享的CONSTANT_Utf8：<code>bytes</code>包括tag和length，<code>value</code>是解码后的String
+     */
+    public static final class Symbol {
+        public final byte[] bytes;
+        public final String value;
+
+        private final int hash;
+        private Symbol next;
+
+        private Symbol(int hash, byte[] bytes, String value) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.value = value;
+        }
+
+        private boolean matches(int hash, byte[] bytes) {
+            return this.hash == hash && Arrays.equals(this.bytes, bytes);
+        }
+    }
+
+    private static final class Stripe {
+        private Symbol[] table = new Symbol[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+        synchronized Symbol get(int hash, byte[] bytes) {
+            for (Symbol e = table[hash & (table.length - 1)]; e != null; e = e.next) {
+                if (e.matches(hash, bytes)) return e;
+            }
+            return null;
+        }
+
+        /**
+         * @return 已经存在的Symbol；如果不存在，加入并返回<code>symbol</code>
+         */
+        synchronized Symbol putIfAbsent(Symbol symbol) {
+            int i = symbol.hash & (table.length - 1);
+            for (Symbol e = table[i]; e != null; e = e.next) {
+                if (e.matches(symbol.hash, symbol.bytes)) return e;
+            }
+
+            symbol.next = table[i];
+            table[i] = symbol;
+            if (++size > table.length * 3 / 4) {
+                resize();
+            }
+            return symbol;
+        }
+
+        private void resize() {
+            Symbol[] old = table;
+            Symbol[] array = new Symbol[old.length * 2];
+            for (Symbol head : old) {
+                Symbol e = head;
+                while (e != null) {
+                    Symbol next = e.next;
+                    int i = e.hash & (array.length - 1);
+                    e.next = array[i];
+                    array[i] = e;
+                    e = next;
+                }
+            }
+            table = array;
+        }
+
+        void clear() {
+            table = new Symbol[INITIAL_STRIPE_CAPACITY];
+            size = 0;
+        }
+    }
+}
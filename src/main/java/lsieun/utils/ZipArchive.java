@@ -0,0 +1,361 @@
+package lsieun.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * <p>
+ *     只读的ZIP（jar）文件：打开时只读取一次central directory，将每个entry的信息存放在基本类型的数组当中；
+ *     之后可以按照序号或者名字随机地访问entry。
+ * </p>
+ * <p>
+ *     与<code>JarFile</code>相比，没有加锁：所有的读取都使用ByteBuffer的absolute get，多个线程可以同时读取；
+ *     解压时从这个ZipArchive的<code>Inflater</code>池中取出一个，用完之后放回，不需要每次都创建新的<code>Inflater</code>；
+ *     {@link #close()}时释放池中所有的<code>Inflater</code>。
+ * </p>
+ * <p>
+ *     与<code>java.util.zip.ZipFile</code>相同，允许zip文件前面有其他数据（例如，Spring Boot可执行jar文件前面的启动脚本），
+ *     central directory和local file header的位置都会加上这一段的长度。
+ * </p>
+ * <p>
+ *     不支持Zip64（超过65535个entry或者大于4GB的文件）。
+ * </p>
+ * <p>
+ *     Java 8没有办法主动释放memory-mapped file：{@link #close()}只是不再引用被映射的文件，之后不能再读取；
+ *     当这个ZipArchive以及由它得到的ByteBuffer（例如{@link #getRawData(int)}）都不再被使用时，由GC释放。
+ * </p>
+ */
+public class ZipArchive implements Closeable {
+    // ZIP File Format
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_FILE_HEADER_SIZE = 46;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+
+    // LITTLE_ENDIAN，只使用absolute get；close()之后为null
+    private volatile ByteBuffer zip;
+    // 没有被使用的Inflater
+    private final Queue<InflaterHolder> inflaters = new ConcurrentLinkedQueue<>();
+    private final int count;
+
+    // central directory
+    private final int[] name_offsets;
+    private final int[] name_lengths;
+    private final int[] name_hashes;
+    private final int[] methods;
+    private final int[] crcs;
+    private final int[] compressed_sizes;
+    private final int[] sizes;
+    private final int[] local_header_offsets;
+
+    // name hash --> entry index + 1，0表示没有
+    private final int[] table;
+
+    public static ZipArchive open(String filepath) {
+        MappedByteBuffer mapped = FileUtils.mapBytes(filepath);
+        if (mapped == null) {
+            throw new RuntimeException("Can not map file: " + filepath);
+        }
+        return new ZipArchive(mapped);
+    }
+
+    /**
+     * 读取<code>buffer</code>从position到limit之间的内容，例如，另一个ZipArchive中的一个STORED entry
+     */
+    public ZipArchive(ByteBuffer buffer) {
+        ByteBuffer zip = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.zip = zip;
+
+        int eocd = findEndOfCentralDirectory(zip);
+        int total_entries = zip.getShort(eocd + 10) & 0xFFFF;
+        int cd_size = zip.getInt(eocd + 12);
+        int cd_offset = zip.getInt(eocd + 16);
+        if (total_entries == 0xFFFF || cd_size == -1 || cd_offset == -1) {
+            throw new RuntimeException("Zip64 is not supported");
+        }
+
+        // zip文件前面的数据的长度；文件中记录的offset都是相对于zip文件本身的开始位置
+        int preamble = eocd - cd_size - cd_offset;
+        if (cd_size < 0 || cd_offset < 0 || preamble < 0) {
+            throw new RuntimeException("Invalid end of central directory: cd_offset=" + cd_offset + ", cd_size=" + cd_size);
+        }
+
+        this.count = total_entries;
+        this.name_offsets = new int[count];
+        this.name_lengths = new int[count];
+        this.name_hashes = new int[count];
+        this.methods = new int[count];
+        this.crcs = new int[count];
+        this.compressed_sizes = new int[count];
+        this.sizes = new int[count];
+        this.local_header_offsets = new int[count];
+        this.table = new int[tableSize(count)];
+
+        int pos = preamble + cd_offset;
+        for (int i = 0; i < count; i++) {
+            if (zip.getInt(pos) != CENTRAL_FILE_HEADER_SIGNATURE) {
+                throw new RuntimeException("Invalid central directory at " + pos);
+            }
+            int name_length = zip.getShort(pos + 28) & 0xFFFF;
+            int extra_length = zip.getShort(pos + 30) & 0xFFFF;
+            int comment_length = zip.getShort(pos + 32) & 0xFFFF;
+
+            methods[i] = zip.getShort(pos + 10) & 0xFFFF;
+            crcs[i] = zip.getInt(pos + 16);
+            compressed_sizes[i] = zip.getInt(pos + 20);
+            sizes[i] = zip.getInt(pos + 24);
+            local_header_offsets[i] = preamble + zip.getInt(pos + 42);
+            name_offsets[i] = pos + CENTRAL_FILE_HEADER_SIZE;
+            name_lengths[i] = name_length;
+            name_hashes[i] = hash(zip, name_offsets[i], name_length);
+
+            int slot = name_hashes[i] & (table.length - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = i + 1;
+
+            pos += CENTRAL_FILE_HEADER_SIZE + name_length + extra_length + comment_length;
+        }
+    }
+
+    private ByteBuffer buffer() {
+        ByteBuffer zip = this.zip;
+        if (zip == null) {
+            throw new IllegalStateException("ZipArchive is closed");
+        }
+        return zip;
+    }
+
+    /**
+     * 可以多次调用；嵌套的ZipArchive（见{@link #ZipArchive(ByteBuffer)}）与外层的ZipArchive互不影响
+     */
+    @Override
+    public void close() {
+        zip = null;
+        endInflaters();
+    }
+
+    private void endInflaters() {
+        InflaterHolder holder;
+        while ((holder = inflaters.poll()) != null) {
+            holder.end();
+        }
+    }
+
+    private static int tableSize(int count) {
+        int size = 16;
+        while (size < count * 2) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer zip) {
+        // the end of central directory record may be followed by a comment of at most 65535 bytes
+        int stop = Math.max(0, zip.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - 0xFFFF);
+        for (int pos = zip.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; pos >= stop; pos--) {
+            if (zip.getInt(pos) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                return pos;
+            }
+        }
+        throw new RuntimeException("Not A Zip File: end of central directory not found");
+    }
+
+    private static int hash(ByteBuffer zip, int offset, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + zip.get(offset + i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = 0;
+        for (byte b : bytes) {
+            h = 31 * h + b;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // region entry
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return entry的序号；如果不存在，返回-1
+     */
+    public int find(String name) {
+        byte[] name_bytes = name.getBytes(StandardCharsets.UTF_8);
+        int h = hash(name_bytes);
+        int slot = h & (table.length - 1);
+        int i;
+        while ((i = table[slot]) != 0) {
+            i--;
+            if (name_hashes[i] == h && nameEquals(i, name_bytes)) {
+                return i;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return -1;
+    }
+
+    private boolean nameEquals(int i, byte[] name_bytes) {
+        ByteBuffer zip = buffer();
+        int length = name_lengths[i];
+        if (length != name_bytes.length) return false;
+        int offset = name_offsets[i];
+        for (int j = 0; j < length; j++) {
+            if (zip.get(offset + j) != name_bytes[j]) return false;
+        }
+        return true;
+    }
+
+    public String getName(int i) {
+        ByteBuffer zip = buffer();
+        byte[] bytes = new byte[name_lengths[i]];
+        int offset = name_offsets[i];
+        for (int j = 0; j < bytes.length; j++) {
+            bytes[j] = zip.get(offset + j);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 不创建String，判断entry name是否以<code>suffix</code>结尾（suffix只能是ASCII字符）
+     */
+    public boolean nameEndsWith(int i, String suffix) {
+        ByteBuffer zip = buffer();
+        int length = name_lengths[i];
+        int n = suffix.length();
+        if (length < n) return false;
+        int offset = name_offsets[i] + length - n;
+        for (int j = 0; j < n; j++) {
+            if (zip.get(offset + j) != (byte) suffix.charAt(j)) return false;
+        }
+        return true;
+    }
+
+    public boolean isDirectory(int i) {
+        return nameEndsWith(i, "/");
+    }
+
+    public int getMethod(int i) {
+        return methods[i];
+    }
+
+    public long getCrc(int i) {
+        return crcs[i] & 0xFFFFFFFFL;
+    }
+
+    public int getCompressedSize(int i) {
+        return compressed_sizes[i];
+    }
+
+    public int getSize(int i) {
+        return sizes[i];
+    }
+
+    /**
+     * entry的原始数据（可能是压缩过的），是zip文件中的一段，不会复制数据
+     */
+    public ByteBuffer getRawData(int i) {
+        ByteBuffer zip = buffer();
+        int local_header_offset = local_header_offsets[i];
+        int local_name_length = zip.getShort(local_header_offset + 26) & 0xFFFF;
+        int local_extra_length = zip.getShort(local_header_offset + 28) & 0xFFFF;
+        int data_offset = local_header_offset + LOCAL_FILE_HEADER_SIZE + local_name_length + local_extra_length;
+
+        ByteBuffer dup = zip.duplicate();
+        ((Buffer) dup).limit(data_offset + compressed_sizes[i]);
+        ((Buffer) dup).position(data_offset);
+        return dup.slice();
+    }
+
+    /**
+     * 对于STORED entry，返回zip文件中的一段，不会复制数据；对于DEFLATED entry，解压到heap buffer中
+     */
+    public ByteBuffer getData(int i) throws IOException {
+        if (methods[i] == ZipEntry.STORED) {
+            return getRawData(i);
+        }
+        return ByteBuffer.wrap(getBytes(i));
+    }
+
+    public byte[] getBytes(int i) throws IOException {
+        ByteBuffer raw = getRawData(i);
+        if (methods[i] == ZipEntry.STORED) {
+            byte[] bytes = new byte[raw.remaining()];
+            raw.get(bytes);
+            return bytes;
+        }
+        if (methods[i] != ZipEntry.DEFLATED) {
+            throw new IOException("Unsupported compression method " + methods[i] + ": " + getName(i));
+        }
+        InflaterHolder holder = inflaters.poll();
+        if (holder == null) {
+            holder = new InflaterHolder();
+        }
+        try {
+            return holder.inflate(raw, sizes[i]);
+        } finally {
+            inflaters.offer(holder);
+            // 解压的同时被close()：close()可能已经清空了inflaters
+            if (zip == null) {
+                endInflaters();
+            }
+        }
+    }
+    // endregion
+
+    /**
+     * 一个Inflater，以及一个可以重复使用的输入缓冲区；同一时间只被一个线程使用
+     */
+    private static final class InflaterHolder {
+        private final Inflater inflater = new Inflater(true);
+        private byte[] input = new byte[8192];
+
+        byte[] inflate(ByteBuffer raw, int size) throws IOException {
+            int length = raw.remaining();
+            if (input.length < length + 1) {
+                input = new byte[Math.max(length + 1, input.length * 2)];
+            }
+            raw.get(input, 0, length);
+
+            inflater.reset();
+            // nowrap模式下，需要在结尾多提供一个字节
+            inflater.setInput(input, 0, length + 1);
+            byte[] output = new byte[size];
+            try {
+                int count = 0;
+                while (count < size && !inflater.finished()) {
+                    int n = inflater.inflate(output, count, size - count);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                    count += n;
+                }
+                if (count != size) {
+                    throw new IOException("Invalid deflated entry: expected " + size + " bytes, but got " + count);
+                }
+                return output;
+            } catch (DataFormatException e) {
+                throw new IOException(e);
+            }
+        }
+
+        void end() {
+            inflater.end();
+        }
+    }
+}
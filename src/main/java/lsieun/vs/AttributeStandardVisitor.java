@@ -61,7 +61,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
     @Override
     public void visitAttributes(Attributes obj) {
         int count = obj.attributes_count;
-        AttributeInfo[] entries = obj.entries;
+        AttributeInfo[] entries = obj.getEntries();
 
         String countLine = String.format("attributes_count='%s' (%d)", obj.hex(), count);
         System.out.println(countLine);
@@ -79,14 +79,14 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitAttributeInfo(AttributeInfo obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
     }
 
     @Override
     public void visitAnnotationDefault(AnnotationDefault obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -100,7 +100,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitBootstrapMethods(BootstrapMethods obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -150,7 +150,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitCode(Code obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -184,10 +184,10 @@ public class AttributeStandardVisitor extends DefaultVisitor {
         }
         fm.format(format, "attributes_count", HexUtils.toHex(bd.nextN(2)), obj.attributes.attributes_count);
         for (int i = 0; i < obj.attributes.attributes_count; i++) {
-            AttributeInfo entry = obj.attributes.entries[i];
+            AttributeInfo entry = obj.attributes.get(i);
             right_shift();
             String attrName = constant_pool.getConstantString(entry.attribute_name_index, CPConst.CONSTANT_Utf8);
-            fm.format(prefix + "%s: %s%n", attrName, HexUtils.toHex(entry.bytes));
+            fm.format(prefix + "%s: %s%n", attrName, HexUtils.toHex(entry.getBytes()));
             left_shift();
         }
         System.out.print(sb.toString());
@@ -195,7 +195,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitConstantValue(ConstantValue obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -206,7 +206,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitEnclosingMethod(EnclosingMethod obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -216,7 +216,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
         fm.format(prefix + format, "class_index", HexUtils.toHex(bd.nextN(2)), "#" + obj.class_index);
         String method_name = "";
         if (obj.method_index != 0) {
-            method_name = constant_pool.getConstant(obj.method_index).value;
+            method_name = constant_pool.getConstant(obj.method_index).getValue();
         }
         fm.format(format, "method_index", HexUtils.toHex(bd.nextN(2)), "#" + obj.method_index);
         System.out.print(sb.toString());
@@ -224,7 +224,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitExceptions(Exceptions obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -248,7 +248,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitInnerClasses(InnerClasses obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -279,7 +279,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitLineNumberTable(LineNumberTable obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -308,7 +308,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitLocalVariableTable(LocalVariableTable obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -340,7 +340,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitLocalVariableTypeTable(LocalVariableTypeTable obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -372,7 +372,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitRuntimeInvisibleAnnotations(RuntimeInvisibleAnnotations obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -383,7 +383,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitRuntimeVisibleAnnotations(RuntimeVisibleAnnotations obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -431,7 +431,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitRuntimeInvisibleParameterAnnotations(RuntimeInvisibleParameterAnnotations obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -442,7 +442,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitRuntimeVisibleParameterAnnotations(RuntimeVisibleParameterAnnotations obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -478,7 +478,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitRuntimeInvisibleTypeAnnotations(RuntimeInvisibleTypeAnnotations obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -489,7 +489,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitRuntimeVisibleTypeAnnotations(RuntimeVisibleTypeAnnotations obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -726,7 +726,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitSignature(Signature obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -737,7 +737,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitSourceDebugExtension(SourceDebugExtension obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -747,7 +747,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitSourceFile(SourceFile obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -759,7 +759,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitStackMapTable(StackMapTable obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
@@ -928,7 +928,7 @@ public class AttributeStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitMethodParameters(MethodParameters obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         visitAttributeCommon(obj, bd);
 
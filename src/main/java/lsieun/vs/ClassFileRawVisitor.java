@@ -60,7 +60,7 @@ public class ClassFileRawVisitor extends DefaultVisitor {
 
         System.out.println("fields");
         for (int i = 0; i < obj.fields_count; i++) {
-            FieldInfo item = obj.entries[i];
+            FieldInfo item = obj.get(i);
             String line = String.format("|%03d| %s", i, item.hex());
             System.out.println(line);
         }
@@ -75,7 +75,7 @@ public class ClassFileRawVisitor extends DefaultVisitor {
 
         System.out.println("methods");
         for (int i = 0; i < obj.methods_count; i++) {
-            MethodInfo item = obj.entries[i];
+            MethodInfo item = obj.get(i);
             String line = String.format("|%03d| %s", i, item.hex());
             System.out.println(line);
         }
@@ -90,7 +90,7 @@ public class ClassFileRawVisitor extends DefaultVisitor {
 
         System.out.println("attributes");
         for (int i = 0; i < obj.attributes_count; i++) {
-            AttributeInfo item = obj.entries[i];
+            AttributeInfo item = obj.get(i);
             String line = String.format("|%03d| %s", i, item.hex());
             System.out.println(line);
         }
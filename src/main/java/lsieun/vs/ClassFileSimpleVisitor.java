@@ -56,7 +56,7 @@ public class ClassFileSimpleVisitor extends DefaultVisitor {
         String line = String.format("    |%03d| %s {Value='%s'}",
                 obj.index,
                 CPConst.getConstantName(obj.tag),
-                obj.value);
+                obj.getValue());
         System.out.println(line);
     }
 
@@ -101,7 +101,7 @@ public class ClassFileSimpleVisitor extends DefaultVisitor {
     @Override
     public void visitFields(Fields obj) {
         int count = obj.fields_count;
-        FieldInfo[] entries = obj.entries;
+        FieldInfo[] entries = obj.getEntries();
 
         String countLine = String.format("fields_count='%s' (%d)", obj.hex(), count);
         System.out.println(countLine);
@@ -128,7 +128,7 @@ public class ClassFileSimpleVisitor extends DefaultVisitor {
     @Override
     public void visitMethods(Methods obj) {
         int count = obj.methods_count;
-        MethodInfo[] entries = obj.entries;
+        MethodInfo[] entries = obj.getEntries();
 
         String countLine = String.format("methods_count='%s' (%d)", obj.hex(), count);
         System.out.println(countLine);
@@ -162,7 +162,7 @@ public class ClassFileSimpleVisitor extends DefaultVisitor {
     @Override
     public void visitAttributes(Attributes obj) {
         int count = obj.attributes_count;
-        AttributeInfo[] entries = obj.entries;
+        AttributeInfo[] entries = obj.getEntries();
 
         String countLine = String.format("attributes_count='%s' (%d)", obj.hex(), count);
         System.out.println(countLine);
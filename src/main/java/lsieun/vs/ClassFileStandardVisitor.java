@@ -54,14 +54,14 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
         String line = String.format("    |%03d| %s {Value='%s', HexCode='%s'}",
                 obj.index,
                 CPConst.getConstantName(obj.tag),
-                obj.value,
+                obj.getValue(),
                 obj.hex());
         System.out.println(line);
     }
 
     @Override
     public void visitClassInfo(ClassInfo obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         String hexCode = obj.hex();
         int access_flags = obj.access_flags;
@@ -102,7 +102,7 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
     @Override
     public void visitFields(Fields obj) {
         int count = obj.fields_count;
-        FieldInfo[] entries = obj.entries;
+        FieldInfo[] entries = obj.getEntries();
 
         String countLine = String.format("fields_count='%s' (%d)", obj.hex(), count);
         System.out.println(countLine);
@@ -112,7 +112,7 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
             FieldInfo item = entries[i];
             if (item == null) continue;
 
-            byte[] bytes = item.bytes;
+            byte[] bytes = item.getBytes();
             ByteDashboard bd = new ByteDashboard(bytes);
 
             StringBuilder sb = new StringBuilder();
@@ -129,7 +129,7 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
             fm.format("descriptor_index='%s'(#%s)%n", HexUtils.toHex(descriptor_index_bytes), item.descriptor_index);
             fm.format("attributes_count='%s'(%s)%n", HexUtils.toHex(attributes_count_bytes), item.attributes.attributes_count);
             for (int j = 0; j < item.attributes.attributes_count; j++) {
-                AttributeInfo entry = item.attributes.entries[j];
+                AttributeInfo entry = item.attributes.get(j);
                 fm.format("--->%s=%s%n", entry.name, entry.hex());
             }
             System.out.println(sb);
@@ -139,7 +139,7 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
     @Override
     public void visitMethods(Methods obj) {
         int count = obj.methods_count;
-        MethodInfo[] entries = obj.entries;
+        MethodInfo[] entries = obj.getEntries();
 
         String countLine = String.format("methods_count='%s' (%d)", obj.hex(), count);
         System.out.println(countLine);
@@ -149,7 +149,7 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
             MethodInfo item = entries[i];
             if (item == null) continue;
 
-            byte[] bytes = item.bytes;
+            byte[] bytes = item.getBytes();
             ByteDashboard bd = new ByteDashboard(bytes);
 
             StringBuilder sb = new StringBuilder();
@@ -166,7 +166,7 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
             fm.format("descriptor_index='%s'(#%s)%n", HexUtils.toHex(descriptor_index_bytes), item.descriptor_index);
             fm.format("attributes_count='%s'(%s)%n", HexUtils.toHex(attributes_count_bytes), item.attributes.attributes_count);
             for (int j = 0; j < item.attributes.attributes_count; j++) {
-                AttributeInfo entry = item.attributes.entries[j];
+                AttributeInfo entry = item.attributes.get(j);
                 fm.format("--->%s=%s%n", entry.name, entry.hex());
             }
             System.out.println(sb);
@@ -176,7 +176,7 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
     @Override
     public void visitAttributes(Attributes obj) {
         int count = obj.attributes_count;
-        AttributeInfo[] entries = obj.entries;
+        AttributeInfo[] entries = obj.getEntries();
 
         String countLine = String.format("attributes_count='%s' (%d)", obj.hex(), count);
         System.out.println(countLine);
@@ -194,7 +194,7 @@ public class ClassFileStandardVisitor extends DefaultVisitor {
 
     @Override
     public void visitAttributeInfo(AttributeInfo obj) {
-        byte[] bytes = obj.bytes;
+        byte[] bytes = obj.getBytes();
         ByteDashboard bd = new ByteDashboard(bytes);
         int attribute_name_index = obj.attribute_name_index;
         int attribute_length = obj.attribute_length;
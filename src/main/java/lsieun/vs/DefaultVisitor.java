@@ -143,6 +143,16 @@ public class DefaultVisitor implements Visitor {
     public void visitConstantInvokeDynamic(ConstantInvokeDynamic obj) {
         visitConstant(obj);
     }
+
+    @Override
+    public void visitConstantModule(ConstantModule obj) {
+        visitConstant(obj);
+    }
+
+    @Override
+    public void visitConstantPackage(ConstantPackage obj) {
+        visitConstant(obj);
+    }
     // endregion
 
     // region Attributes
@@ -33,13 +33,13 @@ public class FileSplitVisitor extends DefaultVisitor {
     @Override
     public void visitMagicNumber(MagicNumber obj) {
         File file = new File(dirFile, "A_MagicNumber.clz");
-        FileUtils.writeBytes(file.getAbsolutePath(), obj.bytes);
+        FileUtils.writeBytes(file.getAbsolutePath(), obj.getBytes());
     }
 
     @Override
     public void visitCompilerVersion(CompilerVersion obj) {
         File file = new File(dirFile, "B_CompilerVersion.clz");
-        FileUtils.writeBytes(file.getAbsolutePath(), obj.bytes);
+        FileUtils.writeBytes(file.getAbsolutePath(), obj.getBytes());
     }
 
     @Override
@@ -59,14 +59,14 @@ public class FileSplitVisitor extends DefaultVisitor {
             String cp_name = CPConst.getConstantName(tag);
             String filename = String.format("C_Item_%03d_%s.clz", entry.index, cp_name);
             File f = new File(dirFile, filename);
-            FileUtils.writeBytes(f.getAbsolutePath(), entry.bytes);
+            FileUtils.writeBytes(f.getAbsolutePath(), entry.getBytes());
         }
     }
 
     @Override
     public void visitClassInfo(ClassInfo obj) {
         File file = new File(dirFile, "D_ClassInfo.clz");
-        FileUtils.writeBytes(file.getAbsolutePath(), obj.bytes);
+        FileUtils.writeBytes(file.getAbsolutePath(), obj.getBytes());
     }
 
     @Override
@@ -75,13 +75,13 @@ public class FileSplitVisitor extends DefaultVisitor {
         File file = new File(dirFile, "E_Count_Fields.clz");
         FileUtils.writeBytes(file.getAbsolutePath(), count_bytes);
 
-        FieldInfo[] entries = obj.entries;
+        FieldInfo[] entries = obj.getEntries();
         for (int i = 0; i < entries.length; i++) {
             FieldInfo entry = entries[i];
             String field_name = entry.name;
             String filename = String.format("E_Item_%03d_%s.clz", i, field_name);
             File f = new File(dirFile, filename);
-            FileUtils.writeBytes(f.getAbsolutePath(), entry.bytes);
+            FileUtils.writeBytes(f.getAbsolutePath(), entry.getBytes());
         }
     }
 
@@ -91,13 +91,13 @@ public class FileSplitVisitor extends DefaultVisitor {
         File file = new File(dirFile, "F_Count_Methods.clz");
         FileUtils.writeBytes(file.getAbsolutePath(), count_bytes);
 
-        MethodInfo[] entries = obj.entries;
+        MethodInfo[] entries = obj.getEntries();
         for (int i = 0; i < entries.length; i++) {
             MethodInfo entry = entries[i];
             String method_name = entry.name.replaceAll("<", "").replaceAll(">", "");
             String filename = String.format("F_Item_%03d_%s.clz", i, method_name);
             File f = new File(dirFile, filename);
-            FileUtils.writeBytes(f.getAbsolutePath(), entry.bytes);
+            FileUtils.writeBytes(f.getAbsolutePath(), entry.getBytes());
         }
     }
 
@@ -107,13 +107,13 @@ public class FileSplitVisitor extends DefaultVisitor {
         File file = new File(dirFile, "G_Count_Attributes.clz");
         FileUtils.writeBytes(file.getAbsolutePath(), count_bytes);
 
-        AttributeInfo[] entries = obj.entries;
+        AttributeInfo[] entries = obj.getEntries();
         for (int i = 0; i < entries.length; i++) {
             AttributeInfo entry = entries[i];
             String method_name = entry.name;
             String filename = String.format("G_Item_%03d_%s.clz", i, method_name);
             File f = new File(dirFile, filename);
-            FileUtils.writeBytes(f.getAbsolutePath(), entry.bytes);
+            FileUtils.writeBytes(f.getAbsolutePath(), entry.getBytes());
         }
     }
     // endregion
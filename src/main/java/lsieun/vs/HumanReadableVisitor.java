@@ -41,7 +41,7 @@ public class HumanReadableVisitor extends DefaultVisitor {
                 int catch_type = item.catch_type;
 
 
-                String catch_type_value = (catch_type == 0) ? "All Exceptions(catch_type = 0)" : constant_pool.getConstant(catch_type).value;
+                String catch_type_value = (catch_type == 0) ? "All Exceptions(catch_type = 0)" : constant_pool.getConstant(catch_type).getValue();
                 fm.format(exception_format, start_pc, end_pc, handler_pc, catch_type_value);
             }
         }
@@ -64,8 +64,8 @@ public class HumanReadableVisitor extends DefaultVisitor {
             int name_index = entry.name_index;
             int descriptor_index = entry.descriptor_index;
 
-            String name = constant_pool.getConstant(name_index).value;
-            String descriptor = constant_pool.getConstant(descriptor_index).value;
+            String name = constant_pool.getConstant(name_index).getValue();
+            String descriptor = constant_pool.getConstant(descriptor_index).getValue();
             fm.format(format, index, start_pc, length, name, descriptor);
         }
         System.out.println(sb.toString());
@@ -87,8 +87,8 @@ public class HumanReadableVisitor extends DefaultVisitor {
             int name_index = entry.name_index;
             int signature_index = entry.signature_index;
 
-            String name = constant_pool.getConstant(name_index).value;
-            String signature = constant_pool.getConstant(signature_index).value;
+            String name = constant_pool.getConstant(name_index).getValue();
+            String signature = constant_pool.getConstant(signature_index).getValue();
             fm.format(format, index, start_pc, length, name, signature);
 
         }
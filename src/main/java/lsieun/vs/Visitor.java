@@ -62,6 +62,10 @@ public interface Visitor {
     void visitConstantDynamic(ConstantDynamic obj);
 
     void visitConstantInvokeDynamic(ConstantInvokeDynamic obj);
+
+    void visitConstantModule(ConstantModule obj);
+
+    void visitConstantPackage(ConstantPackage obj);
     // endregion
 
     // region attributes
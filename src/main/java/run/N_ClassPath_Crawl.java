@@ -0,0 +1,33 @@
+package run;
+
+import lsieun.utils.ClassPathCrawler;
+import lsieun.utils.FileUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class N_ClassPath_Crawl {
+    public static void main(String[] args) {
+        // 第一步，输入参数：与 -cp 的格式相同，可以包含目录和jar文件
+        String classpath = args.length > 0 ? args[0] : FileUtils.getFilePath("");
+
+        // 第二步，并行地读取、解析数据
+        AtomicInteger class_count = new AtomicInteger();
+        AtomicLong method_count = new AtomicLong();
+
+        ClassPathCrawler crawler = new ClassPathCrawler(classpath);
+        crawler.setLazy(true);
+        long start = System.currentTimeMillis();
+        crawler.crawl((name, classfile) -> {
+            class_count.incrementAndGet();
+            method_count.addAndGet(classfile.methods.methods_count);
+        });
+        long stop = System.currentTimeMillis();
+
+        // 第三步，输出数据
+        System.out.println("parallelism: " + crawler.getParallelism());
+        System.out.println("classes: " + class_count.get());
+        System.out.println("methods: " + method_count.get());
+        System.out.println("time(ms): " + (stop - start));
+    }
+}
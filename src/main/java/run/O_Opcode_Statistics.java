@@ -0,0 +1,35 @@
+package run;
+
+import lsieun.code.utils.OpcodeStatistics;
+import lsieun.utils.FileUtils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class O_Opcode_Statistics {
+    public static void main(String[] args) {
+        // 第一步，输入参数：与 -cp 的格式相同，可以包含目录和jar文件；第二个参数是输出的数量
+        String classpath = args.length > 0 ? args[0] : FileUtils.getFilePath("");
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        List<Path> roots = new ArrayList<>();
+        for (String item : classpath.split(File.pathSeparator)) {
+            if (!item.isEmpty()) {
+                roots.add(Paths.get(item));
+            }
+        }
+
+        // 第二步，并行地读取、统计数据
+        long start = System.currentTimeMillis();
+        OpcodeStatistics stats = OpcodeStatistics.collect(roots);
+        long stop = System.currentTimeMillis();
+
+        // 第三步，输出数据
+        stats.print(System.out, top);
+        System.out.println();
+        System.out.println("time(ms): " + (stop - start));
+    }
+}
@@ -0,0 +1,386 @@
+package run;
+
+import lsieun.classfile.Attributes;
+import lsieun.classfile.ClassFile;
+import lsieun.classfile.ClassHeader;
+import lsieun.classfile.ConstantPool;
+import lsieun.classfile.FieldInfo;
+import lsieun.classfile.MethodInfo;
+import lsieun.classfile.attrs.AttributeInfo;
+import lsieun.classfile.attrs.Code;
+import lsieun.classfile.cp.Constant;
+import lsieun.code.Instruction;
+import lsieun.code.facet.CPInstruction;
+import lsieun.code.facet.LocalVariableInstruction;
+import lsieun.code.opcode.RET;
+import lsieun.code.opcode.WIDE;
+import lsieun.code.utils.CodeScanner;
+import lsieun.code.utils.InstructionCursor;
+import lsieun.code.visitors.OpcodeReadVisitor;
+import lsieun.cst.CPConst;
+import lsieun.utils.ByteDashboard;
+import lsieun.utils.ByteUtils;
+import lsieun.utils.IOUtils;
+import lsieun.utils.ZipArchive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 在一个真实的jar文件上，将新的解析方式与原来的解析方式逐项比较：
+ * <ul>
+ *     <li>zip: ZipArchive与java.util.zip.ZipFile</li>
+ *     <li>primitive: ByteDashboard的readXXX与ByteUtils.toXXX(nextN(n))</li>
+ *     <li>constant pool: 两步解析的ConstantPool与依次调用Constant.readConstant</li>
+ *     <li>header: ClassFile.parseHeader与完整的解析</li>
+ *     <li>lazy: lazy模式与普通模式</li>
+ *     <li>ByteBuffer: direct ByteBuffer（ByteBufferDashboard）与byte[]</li>
+ *     <li>instruction: OpcodeReadVisitor（包括wide和ret）与InstructionCursor、CodeScanner</li>
+ * </ul>
+ */
+public class P_Cross_Check {
+    // 最多输出的不一致的数量
+    private static final int MAX_REPORTS = 20;
+
+    // 检查项 --> {比较的数量, 不一致的数量}
+    private static final Map<String, long[]> results = new LinkedHashMap<>();
+    private static int reports = 0;
+
+    public static void main(String[] args) throws IOException {
+        // 第一步，输入参数：jar文件，默认为JDK 8的rt.jar
+        String jar_path = args.length > 0 ? args[0] : System.getProperty("java.home") + "/lib/rt.jar";
+        System.out.println("jar: " + jar_path);
+
+        // 第二步，读取数据并比较：以java.util.zip读取的内容为准
+        long start = System.currentTimeMillis();
+        int class_count = 0;
+        int error_count = 0;
+        try (ZipFile zip_file = new ZipFile(jar_path);
+             ZipArchive archive = ZipArchive.open(jar_path)) {
+            check("zip", archive.size() == zip_file.size(), jar_path, "entry count " + archive.size() + " != " + zip_file.size());
+
+            Enumeration<? extends ZipEntry> entries = zip_file.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                final byte[] bytes;
+                try (InputStream in = zip_file.getInputStream(entry)) {
+                    bytes = IOUtils.toByteArray(in, (int) entry.getSize());
+                }
+                check("zip", name, () -> {
+                    try {
+                        return diffZip(archive, entry, bytes);
+                    } catch (IOException e) {
+                        return e.toString();
+                    }
+                });
+
+                if (entry.isDirectory() || !name.endsWith(".class")) continue;
+                class_count++;
+
+                ClassFile expected;
+                try {
+                    expected = ClassFile.parse(bytes);
+                } catch (RuntimeException e) {
+                    // 不是本次比较的内容，例如损坏的.class文件
+                    System.out.println("can not parse " + name + ": " + e);
+                    error_count++;
+                    continue;
+                }
+
+                final ClassFile cf = expected;
+                check("primitive", name, () -> diffPrimitives(bytes));
+                check("constant pool", name, () -> diffConstantPool(bytes, cf.constant_pool));
+                check("header", name, () -> diffHeader(bytes, cf));
+                check("lazy", name, () -> diff(cf, ClassFile.parse(bytes, true)));
+                check("ByteBuffer", name, () -> diff(cf, ClassFile.parse(toDirectBuffer(bytes))));
+                for (MethodInfo method_info : cf.methods.getEntries()) {
+                    AttributeInfo attr = method_info.attributes.find("Code");
+                    if (attr instanceof Code) {
+                        byte[] code = ((Code) attr).code;
+                        check("instruction", name + " " + method_info.name + method_info.descriptor, () -> diff(code));
+                    }
+                }
+            }
+        }
+        long stop = System.currentTimeMillis();
+
+        // 第三步，输出数据
+        System.out.println();
+        System.out.println("classes: " + class_count + ", can not parse: " + error_count);
+        long total_mismatches = 0;
+        for (Map.Entry<String, long[]> item : results.entrySet()) {
+            long[] counts = item.getValue();
+            System.out.printf("%-16s compared: %10d  mismatched: %d%n", item.getKey(), counts[0], counts[1]);
+            total_mismatches += counts[1];
+        }
+        System.out.println("time(ms): " + (stop - start));
+        System.out.println(total_mismatches == 0 ? "OK" : "FAILED");
+        if (total_mismatches != 0) {
+            System.exit(1);
+        }
+    }
+
+    // region record
+    /**
+     * @param difference 返回第一个不同的地方，完全相同时返回null；抛出异常也算作不一致
+     */
+    private static void check(String check, String name, Supplier<String> difference) {
+        String detail;
+        try {
+            detail = difference.get();
+        } catch (RuntimeException e) {
+            detail = e.toString();
+        }
+        check(check, detail == null, name, detail);
+    }
+
+    private static void check(String check, boolean same, String name, String detail) {
+        long[] counts = results.get(check);
+        if (counts == null) {
+            counts = new long[2];
+            results.put(check, counts);
+        }
+        counts[0]++;
+        if (!same) {
+            counts[1]++;
+            if (reports++ < MAX_REPORTS) {
+                System.out.println("[" + check + "] " + name + ": " + detail);
+            }
+        }
+    }
+    // endregion
+
+    // region zip
+    private static String diffZip(ZipArchive archive, ZipEntry entry, byte[] expected) throws IOException {
+        int i = archive.find(entry.getName());
+        if (i < 0) return "entry not found";
+        if (archive.getCrc(i) != entry.getCrc() || archive.getSize(i) != entry.getSize()) return "crc or size";
+        if (!Arrays.equals(expected, archive.getBytes(i))) return "content";
+        return null;
+    }
+    // endregion
+
+    // region primitive
+    /**
+     * 在每个位置上，分别使用ByteDashboard的直接读取和原来的nextN + ByteUtils读取
+     */
+    private static String diffPrimitives(byte[] bytes) {
+        ByteDashboard bd = new ByteDashboard(bytes);
+        for (int pos = 0; pos + 8 <= bytes.length; pos++) {
+            byte[] copy = Arrays.copyOfRange(bytes, pos, pos + 8);
+
+            bd.setIndex(pos);
+            boolean same = bd.readUnsignedByte() == (copy[0] & 0xFF);
+            bd.setIndex(pos);
+            same &= bd.readShort() == ByteUtils.toShort(Arrays.copyOf(copy, 2));
+            bd.setIndex(pos);
+            same &= bd.readUnsignedShort() == ByteUtils.bytesToInt(Arrays.copyOf(copy, 2));
+            bd.setIndex(pos);
+            same &= bd.readInt() == ByteUtils.toInt(Arrays.copyOf(copy, 4));
+            bd.setIndex(pos);
+            same &= bd.readLong() == ByteUtils.toLong(copy);
+            bd.setIndex(pos);
+            same &= Arrays.equals(bd.nextN(8), copy) && bd.getIndex() == pos + 8;
+            if (!same) {
+                return "at " + pos;
+            }
+        }
+        return null;
+    }
+    // endregion
+
+    // region constant pool
+    /**
+     * 原来的方式：从第10个字节开始，依次读取每一个entry
+     */
+    private static String diffConstantPool(byte[] bytes, ConstantPool cp) {
+        ByteDashboard bd = new ByteDashboard(bytes);
+        bd.skip(8);
+        int count = bd.readUnsignedShort();
+        if (count != cp.count) {
+            return "count " + cp.count + " != " + count;
+        }
+
+        String difference = null;
+        for (int i = 1; i < count && difference == null; i++) {
+            int offset = bd.getIndex();
+            Constant expected = Constant.readConstant(bd);
+            Constant actual = cp.entries[i];
+            if (actual == null || actual.tag != expected.tag || cp.getTag(i) != expected.tag) {
+                difference = "tag at #" + i;
+            }
+            else if (!Arrays.equals(expected.getBytes(), actual.getBytes())
+                    || !Arrays.equals(expected.getBytes(), cp.getEntryBytes(i))
+                    || cp.getEntryOffset(i) != offset) {
+                difference = "bytes at #" + i;
+            }
+            else if (!Objects.equals(expected.getValue(), actual.getValue())) {
+                difference = "value at #" + i;
+            }
+
+            if (expected.tag == CPConst.CONSTANT_Long || expected.tag == CPConst.CONSTANT_Double) {
+                i++;
+                if (difference == null && (cp.entries[i] != null || cp.getTag(i) != 0)) {
+                    difference = "second slot at #" + i;
+                }
+            }
+        }
+        return difference;
+    }
+    // endregion
+
+    // region header
+    private static String diffHeader(byte[] bytes, ClassFile cf) {
+        ClassHeader header = ClassFile.parseHeader(bytes);
+        ConstantPool cp = cf.constant_pool;
+        String[] interfaces = new String[cf.class_info.interfaces_count];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] = cp.resolve(cf.class_info.interfaces[i]);
+        }
+        String super_class = cf.class_info.super_class == 0 ? null : cp.resolve(cf.class_info.super_class);
+
+        boolean same = header.access_flags == cf.class_info.access_flags
+                && header.this_class.equals(cp.resolve(cf.class_info.this_class))
+                && Objects.equals(header.super_class, super_class)
+                && Arrays.equals(header.interfaces, interfaces);
+        return same ? null : "this_class, super_class, interfaces or access_flags";
+    }
+    // endregion
+
+    // region lazy, ByteBuffer
+    private static ByteBuffer toDirectBuffer(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return 第一个不同的地方；如果完全相同，返回null
+     */
+    private static String diff(ClassFile a, ClassFile b) {
+        if (!Arrays.equals(a.magic_number.getBytes(), b.magic_number.getBytes())) return "magic";
+        if (!Arrays.equals(a.compiler_version.getBytes(), b.compiler_version.getBytes())) return "compiler_version";
+
+        ConstantPool cp1 = a.constant_pool;
+        ConstantPool cp2 = b.constant_pool;
+        if (cp1.count != cp2.count) return "constant_pool_count";
+        for (int i = 1; i < cp1.count; i++) {
+            Constant c1 = cp1.entries[i];
+            Constant c2 = cp2.entries[i];
+            if (c1 == null || c2 == null) {
+                if (c1 != c2) return "constant #" + i;
+                continue;
+            }
+            if (c1.tag != c2.tag || !Arrays.equals(c1.getBytes(), c2.getBytes()) || !Objects.equals(c1.getValue(), c2.getValue())) {
+                return "constant #" + i;
+            }
+        }
+
+        if (!Arrays.equals(a.class_info.getBytes(), b.class_info.getBytes())) return "class_info";
+
+        if (a.fields.fields_count != b.fields.fields_count) return "fields_count";
+        for (int i = 0; i < a.fields.fields_count; i++) {
+            FieldInfo f1 = a.fields.get(i);
+            FieldInfo f2 = b.fields.get(i);
+            if (f1.access_flags != f2.access_flags || !f1.name.equals(f2.name) || !f1.descriptor.equals(f2.descriptor)
+                    || !Arrays.equals(f1.getBytes(), f2.getBytes())) {
+                return "field " + f1.name;
+            }
+            String difference = diff(f1.attributes, f2.attributes);
+            if (difference != null) return "field " + f1.name + " " + difference;
+        }
+
+        if (a.methods.methods_count != b.methods.methods_count) return "methods_count";
+        for (int i = 0; i < a.methods.methods_count; i++) {
+            MethodInfo m1 = a.methods.get(i);
+            MethodInfo m2 = b.methods.get(i);
+            if (m1.access_flags != m2.access_flags || !m1.name.equals(m2.name) || !m1.descriptor.equals(m2.descriptor)
+                    || !Arrays.equals(m1.getBytes(), m2.getBytes())) {
+                return "method " + m1.name + m1.descriptor;
+            }
+            String difference = diff(m1.attributes, m2.attributes);
+            if (difference != null) return "method " + m1.name + m1.descriptor + " " + difference;
+        }
+
+        return diff(a.attributes, b.attributes);
+    }
+
+    private static String diff(Attributes a, Attributes b) {
+        if (a.attributes_count != b.attributes_count) return "attributes_count";
+        for (int i = 0; i < a.attributes_count; i++) {
+            AttributeInfo attr1 = a.get(i);
+            AttributeInfo attr2 = b.get(i);
+            if (attr1.getClass() != attr2.getClass() || !attr1.name.equals(attr2.name)
+                    || attr1.attribute_length != attr2.attribute_length || !Arrays.equals(attr1.getBytes(), attr2.getBytes())) {
+                return "attribute " + attr1.name;
+            }
+            if (attr1 instanceof Code) {
+                Code code1 = (Code) attr1;
+                Code code2 = (Code) attr2;
+                if (code1.max_stack != code2.max_stack || code1.max_locals != code2.max_locals
+                        || !Arrays.equals(code1.code, code2.code) || code1.exception_table_length != code2.exception_table_length) {
+                    return "Code";
+                }
+                String difference = diff(code1.attributes, code2.attributes);
+                if (difference != null) return "Code " + difference;
+            }
+        }
+        return null;
+    }
+    // endregion
+
+    // region instruction
+    /**
+     * OpcodeReadVisitor将wide作为单独的一条指令，InstructionCursor将wide和后面的指令算作一条
+     */
+    private static String diff(byte[] code) {
+        InstructionCursor cursor = new InstructionCursor(code);
+        int expected_pos = 0;
+        int wide_pos = -1;
+        for (Instruction ins = new OpcodeReadVisitor(code).getInstructionChain().start; ins != null; ins = ins.next) {
+            if (ins.pos != expected_pos) return "pos " + ins.pos + ", expected " + expected_pos;
+            expected_pos = ins.pos + ins.length;
+            if (ins instanceof WIDE) {
+                wide_pos = ins.pos;
+                continue;
+            }
+
+            boolean wide = wide_pos >= 0;
+            int pos = wide ? wide_pos : ins.pos;
+            int length = wide ? ins.length + 1 : ins.length;
+            wide_pos = -1;
+
+            if (!cursor.next()) return "cursor ends before " + pos;
+            if (cursor.opcode() != ins.opcode || cursor.pos() != pos || cursor.isWide() != wide) {
+                return "opcode " + ins.opcode + " at " + pos;
+            }
+            if (cursor.length() != length || CodeScanner.length(code, pos) != length) {
+                return "length of opcode " + ins.opcode + " at " + pos + ": " + length + ", cursor " + cursor.length();
+            }
+            if (ins instanceof RET && ((RET) ins).index != cursor.localIndex()) {
+                return "ret index at " + pos;
+            }
+            if (ins instanceof LocalVariableInstruction && ((LocalVariableInstruction) ins).getIndex() != cursor.localIndex()) {
+                return "local index at " + pos;
+            }
+            if (ins instanceof CPInstruction && ((CPInstruction) ins).getIndex() != cursor.cpIndex()) {
+                return "constant pool index at " + pos;
+            }
+        }
+        if (expected_pos != code.length) return "instructions end at " + expected_pos + ", code_length " + code.length;
+        if (cursor.next()) return "cursor has more instructions at " + cursor.pos();
+        return null;
+    }
+    // endregion
+}